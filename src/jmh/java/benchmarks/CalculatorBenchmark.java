@@ -0,0 +1,132 @@
+package benchmarks;
+
+import com.lesson01.Calculator;
+import com.lesson01.CalculatorKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculator over arrays: one call per pair vs. the bulk kernels.
+ *
+ * Benchmark names are [operation][Mode]: "PerCall" calls Calculator for every element,
+ * "Scalar" runs the plain (auto-vectorized) loops of CalculatorKernels and "Vector" the
+ * same kernels with the JDK Vector API. "Vector" needs Java 17+ and a jar built with
+ * the vector profile; otherwise it silently measures the scalar loops again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dcalculator.vector=false")
+public class CalculatorBenchmark {
+
+    private static final String VECTOR_MODULE = "--add-modules=jdk.incubator.vector";
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private final Calculator calculator = new Calculator();
+    private int[] a;
+    private int[] b;
+    private int[] out;
+    private double[] x;
+    private double[] y;
+    private double[] z;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        a = new int[size];
+        b = new int[size];
+        out = new int[size];
+        x = new double[size];
+        y = new double[size];
+        z = new double[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = random.nextInt();
+            b[i] = random.nextInt();
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble() + 1;
+        }
+    }
+
+    @Benchmark
+    public int[] addPerCall() {
+        for (int i = 0; i < size; i++) {
+            out[i] = calculator.add(a[i], b[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public int[] addScalar() {
+        CalculatorKernels.add(a, b, out);
+        return out;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public int[] addVector() {
+        CalculatorKernels.add(a, b, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] divideScalar() {
+        CalculatorKernels.divide(x, y, z);
+        return z;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public double[] divideVector() {
+        CalculatorKernels.divide(x, y, z);
+        return z;
+    }
+
+    @Benchmark
+    public int countEvensPerCall() {
+        int count = 0;
+        for (int value : a) {
+            if (calculator.isEven(value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int countEvensScalar() {
+        return CalculatorKernels.countEvens(a);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public int countEvensVector() {
+        return CalculatorKernels.countEvens(a);
+    }
+
+    @Benchmark
+    public double sumScalar() {
+        return CalculatorKernels.sum(x);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public double sumVector() {
+        return CalculatorKernels.sum(x);
+    }
+}
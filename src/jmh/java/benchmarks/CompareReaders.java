@@ -0,0 +1,57 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs every reader of {@link ReaderBenchmark} for one fixture size and prints the
+ * speedup of each mode over the classic reader of the same format.
+ *
+ * Usage: java -cp target/benchmarks.jar benchmarks.CompareReaders [size] [format regex]
+ * e.g.   java -cp target/benchmarks.jar benchmarks.CompareReaders 1000000 csv
+ *
+ * New fast-path readers only need a "[format][Mode]" benchmark method in ReaderBenchmark
+ * to show up in the comparison.
+ */
+public class CompareReaders {
+
+    public static void main(String[] args) throws RunnerException {
+        String size = args.length > 0 ? args[0] : "100000";
+        String format = args.length > 1 ? args[1] : "csv|json|yaml";
+
+        Options options = new OptionsBuilder()
+                .include(ReaderBenchmark.class.getSimpleName() + "\\.(" + format + ")")
+                .param("size", size)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(2))
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            scores.put(benchmark.substring(benchmark.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+
+        System.out.println();
+        System.out.printf("%-16s %14s %10s%n", "reader", "files/s", "speedup");
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            String name = score.getKey();
+            String baseline = name.replaceAll("[A-Z].*$", "") + "Classic";
+            Double baselineScore = scores.get(baseline);
+            String speedup = baselineScore == null ? "-" : String.format("%.2fx", score.getValue() / baselineScore);
+            System.out.printf("%-16s %14.3f %10s%n", name, score.getValue(), speedup);
+        }
+    }
+}
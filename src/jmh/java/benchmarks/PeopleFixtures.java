@@ -0,0 +1,143 @@
+package benchmarks;
+
+import com.lesson02.models.Person;
+import com.lesson02.utils.PersonSnapshotWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Generates people files of a given size for the benchmarks.
+ *
+ * Files are written once into target/jmh-fixtures (or the directory from the
+ * "fixtures.dir" system property) and reused by later runs.
+ */
+public class PeopleFixtures {
+
+    private static final String[] FIRST_NAMES = {"Robert", "Jimmy", "John", "Paul", "Jane", "Anna", "Maria", "Lee"};
+    private static final String[] LAST_NAMES = {"Plant", "Page", "Jones", "Bonham", "Smith", "Doe", "Garcia", "Chen"};
+    private static final String[] DOMAINS = {"example.com", "example.org", "mail.example.net", "test.io"};
+
+    private final Path directory;
+    private final int size;
+
+    private PeopleFixtures(Path directory, int size) {
+        this.directory = directory;
+        this.size = size;
+    }
+
+    /**
+     * Makes sure CSV, JSON, YAML and snapshot files with the given number of people exist.
+     */
+    public static PeopleFixtures ensure(int size) throws IOException {
+        Path directory = Paths.get(System.getProperty("fixtures.dir", "target/jmh-fixtures"));
+        Files.createDirectories(directory);
+
+        PeopleFixtures fixtures = new PeopleFixtures(directory, size);
+        fixtures.writeIfMissing(fixtures.csv(), fixtures::writeCSV);
+        fixtures.writeIfMissing(fixtures.json(), fixtures::writeJSON);
+        fixtures.writeIfMissing(fixtures.yaml(), fixtures::writeYAML);
+        if (Files.notExists(fixtures.snapshot())) {
+            PersonSnapshotWriter.write(fixtures.people(), fixtures.snapshot());
+        }
+        return fixtures;
+    }
+
+    public Path csv() {
+        return directory.resolve("people-" + size + ".csv");
+    }
+
+    public Path json() {
+        return directory.resolve("people-" + size + ".json");
+    }
+
+    public Path yaml() {
+        return directory.resolve("people-" + size + ".yaml");
+    }
+
+    public Path snapshot() {
+        return directory.resolve("people-" + size + ".psnp");
+    }
+
+    /**
+     * @return the i-th generated person, same for every run
+     */
+    static Person person(int i) {
+        String first = FIRST_NAMES[i % FIRST_NAMES.length];
+        String last = LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+        return Person.builder()
+                .name(first + " " + last + " " + i)
+                .age(18 + (int) ((i * 2654435761L) % 70))
+                .email(first.toLowerCase() + "." + last.toLowerCase() + i + "@" + DOMAINS[i % DOMAINS.length])
+                .build();
+    }
+
+    private Iterator<Person> people() {
+        return new Iterator<Person>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Person next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return person(next++);
+            }
+        };
+    }
+
+    private void writeCSV(BufferedWriter out) throws IOException {
+        out.write("name,age,email\n");
+        for (int i = 0; i < size; i++) {
+            Person p = person(i);
+            out.write(p.getName() + "," + p.getAge() + "," + p.getEmail() + "\n");
+        }
+    }
+
+    private void writeJSON(BufferedWriter out) throws IOException {
+        out.write("[\n");
+        for (int i = 0; i < size; i++) {
+            Person p = person(i);
+            out.write("  {\"name\": \"" + p.getName() + "\", \"age\": " + p.getAge()
+                    + ", \"email\": \"" + p.getEmail() + "\"}" + (i + 1 < size ? ",\n" : "\n"));
+        }
+        out.write("]\n");
+    }
+
+    private void writeYAML(BufferedWriter out) throws IOException {
+        out.write("people:\n");
+        for (int i = 0; i < size; i++) {
+            Person p = person(i);
+            out.write("  - name: " + p.getName() + "\n    age: " + p.getAge() + "\n    email: " + p.getEmail() + "\n");
+        }
+    }
+
+    private void writeIfMissing(Path file, FixtureWriter writer) throws IOException {
+        if (Files.exists(file)) {
+            return;
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(out);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(temp, file);
+    }
+
+    private interface FixtureWriter {
+        void write(BufferedWriter out) throws IOException;
+    }
+}
@@ -0,0 +1,195 @@
+package benchmarks;
+
+import com.lesson02.models.Person;
+import com.lesson02.models.PersonTable;
+import com.lesson02.utils.CSVReader;
+import com.lesson02.utils.JSONReader;
+import com.lesson02.utils.PersonSnapshot;
+import com.lesson02.utils.YAMLReader;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Throughput of every people reader over generated fixtures.
+ *
+ * Besides the primary score (files per second) each benchmark reports "rows" and
+ * "megabytes" counters, which JMH prints as rows/s and MB/s.
+ * Add "-prof gc" to see the allocation rate (gc.alloc.rate.norm = bytes per file).
+ *
+ * Benchmark names are [format][Mode]; the "Classic" ones are the original readers
+ * and act as the baseline for {@link CompareReaders}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class ReaderBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private String csv;
+    private String json;
+    private String yaml;
+    private String snapshot;
+    private long csvBytes;
+    private long jsonBytes;
+    private long yamlBytes;
+    private long snapshotBytes;
+
+    /**
+     * Per-thread counters reported by JMH as rates.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public long rows;
+        public double megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+            megabytes = 0;
+        }
+
+        void add(long rowCount, long fileBytes) {
+            rows += rowCount;
+            megabytes += fileBytes / (1024.0 * 1024.0);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        PeopleFixtures fixtures = PeopleFixtures.ensure(size);
+        csv = fixtures.csv().toString();
+        json = fixtures.json().toString();
+        yaml = fixtures.yaml().toString();
+        snapshot = fixtures.snapshot().toString();
+        csvBytes = Files.size(fixtures.csv());
+        jsonBytes = Files.size(fixtures.json());
+        yamlBytes = Files.size(fixtures.yaml());
+        snapshotBytes = Files.size(fixtures.snapshot());
+    }
+
+    // ============================================
+    // CSV
+    // ============================================
+
+    @Benchmark
+    public List<Person> csvClassic(Throughput throughput) throws IOException {
+        List<Person> persons = CSVReader.readPersonsFromCSV(csv);
+        throughput.add(persons.size(), csvBytes);
+        return persons;
+    }
+
+    @Benchmark
+    public void csvStream(Throughput throughput, Blackhole blackhole) throws IOException {
+        throughput.add(consume(CSVReader.streamPersonsFromCSV(csv), blackhole), csvBytes);
+    }
+
+    @Benchmark
+    public List<Person> csvMapped(Throughput throughput) throws IOException {
+        List<Person> persons = CSVReader.readPersonsFromCSVMapped(csv);
+        throughput.add(persons.size(), csvBytes);
+        return persons;
+    }
+
+    @Benchmark
+    public List<Person> csvParallel(Throughput throughput) throws IOException {
+        List<Person> persons = CSVReader.readPersonsFromCSVParallel(csv);
+        throughput.add(persons.size(), csvBytes);
+        return persons;
+    }
+
+    @Benchmark
+    public PersonTable csvTable(Throughput throughput) throws IOException {
+        PersonTable table = CSVReader.readTableFromCSV(csv);
+        throughput.add(table.size(), csvBytes);
+        return table;
+    }
+
+    // ============================================
+    // JSON
+    // ============================================
+
+    @Benchmark
+    public List<Person> jsonClassic(Throughput throughput) throws IOException {
+        List<Person> persons = JSONReader.readPersonsFromJSON(json);
+        throughput.add(persons.size(), jsonBytes);
+        return persons;
+    }
+
+    @Benchmark
+    public void jsonStream(Throughput throughput, Blackhole blackhole) throws IOException {
+        throughput.add(consume(JSONReader.streamPersonsFromJSON(json), blackhole), jsonBytes);
+    }
+
+    // ============================================
+    // YAML
+    // ============================================
+
+    @Benchmark
+    public List<Person> yamlClassic(Throughput throughput) throws IOException {
+        List<Person> persons = YAMLReader.readPersonsFromYAML(yaml);
+        throughput.add(persons.size(), yamlBytes);
+        return persons;
+    }
+
+    @Benchmark
+    public void yamlStream(Throughput throughput, Blackhole blackhole) throws IOException {
+        throughput.add(consume(YAMLReader.streamPersonsFromYAML(yaml), blackhole), yamlBytes);
+    }
+
+    // ============================================
+    // Binary snapshot
+    // ============================================
+
+    @Benchmark
+    public long snapshotOpen(Throughput throughput) throws IOException {
+        try (PersonSnapshot people = PersonSnapshot.open(snapshot)) {
+            throughput.add(people.size(), snapshotBytes);
+            return people.getAge(people.size() - 1);
+        }
+    }
+
+    @Benchmark
+    public List<Person> snapshotDecode(Throughput throughput) throws IOException {
+        try (PersonSnapshot people = PersonSnapshot.open(snapshot)) {
+            List<Person> persons = people.toList();
+            throughput.add(persons.size(), snapshotBytes);
+            return persons;
+        }
+    }
+
+    private static long consume(Stream<Person> persons, Blackhole blackhole) {
+        long rows = 0;
+        try (Stream<Person> stream = persons) {
+            for (Person person : (Iterable<Person>) stream::iterator) {
+                blackhole.consume(person);
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
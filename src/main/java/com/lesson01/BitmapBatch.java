@@ -0,0 +1,86 @@
+package com.week01;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+
+/**
+ * Runs a check over many rows on a ForkJoinPool and collects the answers into a bitmap.
+ *
+ * The rows are split into blocks of whole 64-row words, so every task writes its own
+ * words of one shared long[]: no locking, no merging of partial results and no objects
+ * per row. Used by {@link EmailBatchValidator} and {@link StringKernels}.
+ */
+public final class BitmapBatch {
+
+    // Smaller inputs are checked on the calling thread
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    // Rows per task = 64 * this
+    private static final int WORDS_PER_TASK = 64;
+
+    private BitmapBatch() {
+    }
+
+    /**
+     * @param rows  Number of rows
+     * @param check Check of one row, called once for each row from several threads
+     * @return bitmap with bit i set if row i passed the check
+     */
+    public static BitSet test(int rows, IntPredicate check) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Rows must not be negative: " + rows);
+        }
+        long[] words = new long[(int) ((rows + 63L) >>> 6)];
+        if (rows < PARALLEL_THRESHOLD) {
+            fill(words, 0, words.length, rows, check);
+        } else {
+            ForkJoinPool.commonPool().invoke(new BlockTask(words, 0, words.length, rows, check));
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Checks the rows of words {@code fromWord} to {@code toWord} (exclusive).
+     */
+    private static void fill(long[] words, int fromWord, int toWord, int rows, IntPredicate check) {
+        for (int w = fromWord; w < toWord; w++) {
+            int first = w << 6;
+            int last = (int) Math.min(first + 64L, rows);
+            long word = 0;
+            for (int row = first; row < last; row++) {
+                if (check.test(row)) {
+                    word |= 1L << row; // Shift uses the low 6 bits, same as row - first
+                }
+            }
+            words[w] = word;
+        }
+    }
+
+    private static class BlockTask extends RecursiveAction {
+        private final long[] words;
+        private final int fromWord;
+        private final int toWord;
+        private final int rows;
+        private final IntPredicate check;
+
+        BlockTask(long[] words, int fromWord, int toWord, int rows, IntPredicate check) {
+            this.words = words;
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+            this.rows = rows;
+            this.check = check;
+        }
+
+        @Override
+        protected void compute() {
+            if (toWord - fromWord <= WORDS_PER_TASK) {
+                fill(words, fromWord, toWord, rows, check);
+                return;
+            }
+            int middle = (fromWord + toWord) >>> 1;
+            invokeAll(new BlockTask(words, fromWord, middle, rows, check),
+                    new BlockTask(words, middle, toWord, rows, check));
+        }
+    }
+}
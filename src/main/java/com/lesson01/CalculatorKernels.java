@@ -0,0 +1,276 @@
+package com.lesson01;
+
+/**
+ * {@link Calculator} operations over whole arrays.
+ *
+ * Loops are plain counted loops over arrays of equal length, the shape the C2 JIT turns
+ * into SIMD instructions (auto-vectorization). Integer results wrap around on overflow,
+ * like in Calculator. Output arrays may be the same as an input array.
+ *
+ * The elementwise operations, long/double sums and even counts run in {@link VectorKernels}.
+ * When the jar is built with the {@code vector} profile and the JVM runs on Java 17+ with
+ * {@code --add-modules jdk.incubator.vector}, its multi-release version uses the JDK Vector API.
+ * {@code -Dcalculator.vector=false} switches that off.
+ */
+public final class CalculatorKernels {
+
+    private CalculatorKernels() {
+    }
+
+    /**
+     * @return true if the Vector API versions are used
+     */
+    public static boolean isVectorized() {
+        return VectorKernels.isAvailable();
+    }
+
+    // ============================================
+    // Elementwise: out[i] = a[i] op b[i]
+    // ============================================
+
+    public static void add(int[] a, int[] b, int[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        VectorKernels.add(a, b, out, length);
+    }
+
+    public static void add(long[] a, long[] b, long[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        VectorKernels.add(a, b, out, length);
+    }
+
+    public static void add(double[] a, double[] b, double[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        VectorKernels.add(a, b, out, length);
+    }
+
+    public static void subtract(int[] a, int[] b, int[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        VectorKernels.subtract(a, b, out, length);
+    }
+
+    public static void subtract(long[] a, long[] b, long[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        VectorKernels.subtract(a, b, out, length);
+    }
+
+    public static void subtract(double[] a, double[] b, double[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        VectorKernels.subtract(a, b, out, length);
+    }
+
+    public static void multiply(int[] a, int[] b, int[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        VectorKernels.multiply(a, b, out, length);
+    }
+
+    public static void multiply(long[] a, long[] b, long[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        VectorKernels.multiply(a, b, out, length);
+    }
+
+    public static void multiply(double[] a, double[] b, double[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        VectorKernels.multiply(a, b, out, length);
+    }
+
+    /**
+     * Integer division, rounded towards zero.
+     *
+     * @throws ArithmeticException if any b[i] is zero; out is not changed then
+     */
+    public static void divide(int[] a, int[] b, int[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        checkNoZero(countZeros(b, length));
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] / b[i]; // No SIMD integer division on x86, stays scalar
+        }
+    }
+
+    /**
+     * Integer division, rounded towards zero.
+     *
+     * @throws ArithmeticException if any b[i] is zero; out is not changed then
+     */
+    public static void divide(long[] a, long[] b, long[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        checkNoZero(countZeros(b, length));
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] / b[i];
+        }
+    }
+
+    /**
+     * Same rule as {@link Calculator#divide(double, double)}.
+     *
+     * @throws ArithmeticException if any b[i] is zero; out is not changed then
+     */
+    public static void divide(double[] a, double[] b, double[] out) {
+        int length = checkLengths(a.length, b.length, out.length);
+        checkNoZero(countZeros(b, length));
+        VectorKernels.divide(a, b, out, length);
+    }
+
+    // ============================================
+    // Reductions
+    // ============================================
+
+    /**
+     * @return sum of all values as long, so it does not overflow
+     */
+    public static long sum(int[] values) {
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public static long sum(long[] values) {
+        return VectorKernels.sum(values, values.length);
+    }
+
+    /**
+     * Sums in four interleaved parts so the additions do not wait for each other.
+     * The result can differ from a plain left-to-right loop in the last bits.
+     *
+     * The Vector API path adds in one part per vector lane instead, so the result also depends
+     * on {@link #isVectorized()} and on the vector width of the CPU. Every order stays within
+     * n * 2^-53 * sum(|values|) of the exact sum; run with {@code -Dcalculator.vector=false}
+     * when results must be bit-identical on every JVM and machine.
+     */
+    public static double sum(double[] values) {
+        return VectorKernels.sum(values, values.length);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the array is empty
+     */
+    public static int min(int[] values) {
+        checkNotEmpty(values.length);
+        int min = Integer.MAX_VALUE;
+        for (int value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the array is empty
+     */
+    public static int max(int[] values) {
+        checkNotEmpty(values.length);
+        int max = Integer.MIN_VALUE;
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the array is empty
+     */
+    public static long min(long[] values) {
+        checkNotEmpty(values.length);
+        long min = Long.MAX_VALUE;
+        for (long value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the array is empty
+     */
+    public static long max(long[] values) {
+        checkNotEmpty(values.length);
+        long max = Long.MIN_VALUE;
+        for (long value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    /**
+     * @return smallest value, NaN if any value is NaN
+     * @throws IllegalArgumentException if the array is empty
+     */
+    public static double min(double[] values) {
+        checkNotEmpty(values.length);
+        double min = Double.POSITIVE_INFINITY;
+        for (double value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    /**
+     * @return biggest value, NaN if any value is NaN
+     * @throws IllegalArgumentException if the array is empty
+     */
+    public static double max(double[] values) {
+        checkNotEmpty(values.length);
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    /**
+     * Same rule as {@link Calculator#isEven(int)} for every value.
+     */
+    public static int countEvens(int[] values) {
+        return VectorKernels.countEvens(values, values.length);
+    }
+
+    public static int countEvens(long[] values) {
+        return VectorKernels.countEvens(values, values.length);
+    }
+
+    // ============================================
+    // Helpers
+    // ============================================
+
+    private static int checkLengths(int a, int b, int out) {
+        if (a != b || a != out) {
+            throw new IllegalArgumentException("Arrays must have the same length: " + a + ", " + b + ", " + out);
+        }
+        return a;
+    }
+
+    private static void checkNotEmpty(int length) {
+        if (length == 0) {
+            throw new IllegalArgumentException("Array is empty");
+        }
+    }
+
+    private static void checkNoZero(int zeros) {
+        if (zeros > 0) {
+            throw new ArithmeticException("B cannot be 0!");
+        }
+    }
+
+    private static int countZeros(int[] values, int length) {
+        int zeros = 0;
+        for (int i = 0; i < length; i++) {
+            zeros += values[i] == 0 ? 1 : 0;
+        }
+        return zeros;
+    }
+
+    private static int countZeros(long[] values, int length) {
+        int zeros = 0;
+        for (int i = 0; i < length; i++) {
+            zeros += values[i] == 0 ? 1 : 0;
+        }
+        return zeros;
+    }
+
+    private static int countZeros(double[] values, int length) {
+        int zeros = 0;
+        for (int i = 0; i < length; i++) {
+            zeros += values[i] == 0 ? 1 : 0;
+        }
+        return zeros;
+    }
+}
@@ -0,0 +1,103 @@
+package com.week01;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Validates whole email columns at once on a ForkJoinPool with {@link BitmapBatch}.
+ *
+ * Each check is {@link EmailValidator}, which allocates nothing, so a batch creates no
+ * objects per row. The result is a {@link BitSet} of valid rows plus counts.
+ */
+public final class EmailBatchValidator {
+
+    private EmailBatchValidator() {
+    }
+
+    public static Result validate(List<? extends CharSequence> emails) {
+        if (!(emails instanceof RandomAccess)) {
+            return validate(emails.toArray(new CharSequence[0])); // get(i) of a linked list is O(i)
+        }
+        return validate(emails.size(), i -> EmailValidator.isValid(emails.get(i)));
+    }
+
+    public static Result validate(CharSequence[] emails) {
+        return validate(emails.length, i -> EmailValidator.isValid(emails[i]));
+    }
+
+    /**
+     * Row numbers are the positions in the stream. The stream is collected into an array first.
+     */
+    public static Result validate(Stream<? extends CharSequence> emails) {
+        return validate(emails.toArray(CharSequence[]::new));
+    }
+
+    /**
+     * Validates emails that are stored elsewhere, e.g. as bytes of a table column.
+     *
+     * @param rows  Number of rows
+     * @param valid Email check of one row, called once for each row from several threads
+     */
+    public static Result validate(int rows, IntPredicate valid) {
+        BitSet bits = BitmapBatch.test(rows, valid);
+        return new Result(rows, bits.cardinality(), bits);
+    }
+
+    /**
+     * Valid rows of a batch.
+     */
+    public static final class Result {
+        private final int rows;
+        private final int validCount;
+        private final BitSet valid;
+
+        Result(int rows, int validCount, BitSet valid) {
+            this.rows = rows;
+            this.validCount = validCount;
+            this.valid = valid;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getValidCount() {
+            return validCount;
+        }
+
+        public int getInvalidCount() {
+            return rows - validCount;
+        }
+
+        public boolean isValid(int row) {
+            if (row < 0 || row >= rows) {
+                throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + rows + " rows");
+            }
+            return valid.get(row);
+        }
+
+        /**
+         * @return copy of the bitmap, bit i is set if row i is valid
+         */
+        public BitSet getValid() {
+            return (BitSet) valid.clone();
+        }
+
+        /**
+         * @return copy of the bitmap of invalid rows
+         */
+        public BitSet getInvalid() {
+            BitSet invalid = getValid();
+            invalid.flip(0, rows);
+            return invalid;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{rows=" + rows + ", valid=" + validCount + ", invalid=" + getInvalidCount() + "}";
+        }
+    }
+}
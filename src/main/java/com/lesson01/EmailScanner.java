@@ -0,0 +1,188 @@
+package com.week01;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Finds valid emails in big text files (logs, exports) without turning the text into Strings.
+ *
+ * The file is memory-mapped window by window. A token is a run of bytes that can appear in an
+ * email (letters, digits, {@code + _ . - @}); tokens with an '@' are checked with
+ * {@link EmailValidator} right on the mapped bytes. Dots at the end of a token are dropped
+ * first, so "write to john@example.com." finds "john@example.com". Only ASCII emails are found,
+ * like with {@link StringValidator#isValidEmail(String)}. Usage:
+ * <pre>
+ * long count = EmailScanner.scan("export.log", (offset, length) -&gt; System.out.println(offset));
+ * </pre>
+ */
+public final class EmailScanner {
+
+    public static final long DEFAULT_WINDOW = 64L * 1024 * 1024; // 64 MB
+
+    /**
+     * Receives the position of every valid email, in file order.
+     */
+    public interface MatchListener {
+        void onEmail(long offset, int length);
+    }
+
+    private EmailScanner() {
+    }
+
+    /**
+     * Collects the positions of all valid emails of a file.
+     *
+     * @param filePath Path to a text file in UTF-8 or any ASCII-compatible encoding
+     * @return positions and count of the emails
+     * @throws IOException if file cannot be read
+     */
+    public static ScanResult scan(String filePath) throws IOException {
+        ScanResult result = new ScanResult();
+        scan(filePath, DEFAULT_WINDOW, result::add);
+        return result;
+    }
+
+    /**
+     * @return number of valid emails
+     * @throws IOException if file cannot be read
+     */
+    public static long scan(String filePath, MatchListener listener) throws IOException {
+        return scan(filePath, DEFAULT_WINDOW, listener);
+    }
+
+    /**
+     * Same as {@link #scan(String, MatchListener)} with a custom mapping window.
+     * Tokens longer than the window are skipped.
+     *
+     * @param window Bytes mapped at once, at most {@link Integer#MAX_VALUE}
+     * @return number of valid emails
+     * @throws IOException if file cannot be read
+     */
+    public static long scan(String filePath, long window, MatchListener listener) throws IOException {
+        if (window <= 0 || window > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window must be between 1 and " + Integer.MAX_VALUE + " bytes");
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long found = 0;
+            boolean skipping = false; // Inside a token that did not fit into a window
+
+            while (position < size) {
+                int limit = (int) Math.min(window, size - position);
+                boolean last = position + limit == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, limit);
+                int next = limit; // Where the next window starts, relative to this one
+                int i = 0;
+
+                if (skipping) {
+                    while (i < limit && EmailValidator.isEmailByte(buffer.get(i))) {
+                        i++;
+                    }
+                    skipping = i == limit;
+                }
+
+                while (i < limit && !skipping) {
+                    while (i < limit && !EmailValidator.isEmailByte(buffer.get(i))) {
+                        i++; // Skip text between tokens
+                    }
+                    if (i == limit) {
+                        break;
+                    }
+
+                    int start = i;
+                    boolean hasAt = false;
+                    while (i < limit) {
+                        byte b = buffer.get(i);
+                        if (!EmailValidator.isEmailByte(b)) {
+                            break;
+                        }
+                        hasAt |= b == '@';
+                        i++;
+                    }
+
+                    if (i == limit && !last) {
+                        if (start == 0) {
+                            skipping = true; // Token is bigger than the window, cannot be an email we report
+                        } else {
+                            next = start; // Token continues in the next window, read it again there
+                        }
+                        break;
+                    }
+
+                    if (hasAt) {
+                        int end = i;
+                        while (end > start && buffer.get(end - 1) == '.') {
+                            end--;
+                        }
+                        if (EmailValidator.isValid(buffer, start, end)) {
+                            found++;
+                            listener.onEmail(position + start, end - start);
+                        }
+                    }
+                }
+                position += next;
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Positions of the emails found in a file, kept in primitive arrays.
+     */
+    public static final class ScanResult {
+        private long[] offsets = new long[64];
+        private int[] lengths = new int[64];
+        private int count;
+
+        private void add(long offset, int length) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                lengths = Arrays.copyOf(lengths, count * 2);
+            }
+            offsets[count] = offset;
+            lengths[count] = length;
+            count++;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return byte position of the email in the file
+         */
+        public long getOffset(int index) {
+            checkIndex(index);
+            return offsets[index];
+        }
+
+        /**
+         * @return email length in bytes (equal to chars, emails are ASCII)
+         */
+        public int getLength(int index) {
+            checkIndex(index);
+            return lengths[index];
+        }
+
+        public long[] getOffsets() {
+            return Arrays.copyOf(offsets, count);
+        }
+
+        @Override
+        public String toString() {
+            return "ScanResult{count=" + count + "}";
+        }
+
+        private void checkIndex(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + count + " emails");
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.week01;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Email check without regex: a precompiled DFA (state machine) that reads every char once.
+ *
+ * Accepts exactly the same strings as {@link #EMAIL_REGEX} with {@link String#matches(String)},
+ * but compiles nothing and creates no objects per call. Works on any CharSequence and on
+ * UTF-8 bytes (arrays or buffers); every non-ASCII char (or byte) is rejected, like in the regex.
+ */
+public final class EmailValidator {
+
+    /**
+     * The language this validator accepts.
+     */
+    public static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
+
+    // Char classes
+    private static final int OTHER = 0;
+    private static final int LETTER = 1;       // A-Z a-z, allowed everywhere
+    private static final int DIGIT_HYPHEN = 2; // 0-9 and '-', allowed in local part and domain
+    private static final int DOT = 3;
+    private static final int LOCAL_ONLY = 4;   // '+' and '_'
+    private static final int AT = 5;
+    private static final int CLASSES = 6;
+
+    // States
+    private static final int START = 0;         // nothing read
+    private static final int LOCAL = 1;         // at least one local part char
+    private static final int AFTER_AT = 2;      // '@' read, domain is empty
+    private static final int DOMAIN = 3;        // domain not empty, no ".letters" at the end
+    private static final int DOT_SEEN = 4;      // last char is a dot that has something before it
+    private static final int ONE_LETTER = 5;    // dot and one letter at the end
+    private static final int TWO_LETTERS = 6;   // dot and two or more letters at the end - accepting
+    private static final int DEAD = 7;
+
+    private static final byte[] CLASS_OF = new byte[128];
+    private static final byte[] NEXT = new byte[(DEAD + 1) * CLASSES];
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) {
+            CLASS_OF[c] = LETTER;
+            CLASS_OF[c + ('a' - 'A')] = LETTER;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            CLASS_OF[c] = DIGIT_HYPHEN;
+        }
+        CLASS_OF['-'] = DIGIT_HYPHEN;
+        CLASS_OF['.'] = DOT;
+        CLASS_OF['+'] = LOCAL_ONLY;
+        CLASS_OF['_'] = LOCAL_ONLY;
+        CLASS_OF['@'] = AT;
+
+        Arrays.fill(NEXT, (byte) DEAD);
+        for (int charClass : new int[]{LETTER, DIGIT_HYPHEN, DOT, LOCAL_ONLY}) {
+            transition(START, charClass, LOCAL);
+            transition(LOCAL, charClass, LOCAL);
+        }
+        transition(LOCAL, AT, AFTER_AT);
+
+        // A dot right after '@' cannot separate the top-level domain, nothing is before it
+        transition(AFTER_AT, LETTER, DOMAIN);
+        transition(AFTER_AT, DIGIT_HYPHEN, DOMAIN);
+        transition(AFTER_AT, DOT, DOMAIN);
+
+        for (int state : new int[]{DOMAIN, DOT_SEEN, ONE_LETTER, TWO_LETTERS}) {
+            transition(state, DIGIT_HYPHEN, DOMAIN);
+            transition(state, DOT, DOT_SEEN);
+        }
+        transition(DOMAIN, LETTER, DOMAIN);
+        transition(DOT_SEEN, LETTER, ONE_LETTER);
+        transition(ONE_LETTER, LETTER, TWO_LETTERS);
+        transition(TWO_LETTERS, LETTER, TWO_LETTERS);
+    }
+
+    private EmailValidator() {
+    }
+
+    /**
+     * @return true if the whole text is a valid email, false for null
+     */
+    public static boolean isValid(CharSequence email) {
+        return email != null && isValid(email, 0, email.length());
+    }
+
+    /**
+     * Checks the chars from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    public static boolean isValid(CharSequence text, int from, int to) {
+        int state = START;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            state = NEXT[state * CLASSES + (c < 128 ? CLASS_OF[c] : OTHER)];
+            if (state == DEAD) {
+                return false;
+            }
+        }
+        return state == TWO_LETTERS;
+    }
+
+    /**
+     * @param utf8 Email encoded as UTF-8 (or any ASCII-compatible encoding)
+     * @return true if the bytes are a valid email, false for null
+     */
+    public static boolean isValid(byte[] utf8) {
+        return utf8 != null && isValid(utf8, 0, utf8.length);
+    }
+
+    /**
+     * Checks the bytes from {@code from} (inclusive) to {@code to} (exclusive).
+     * Bytes of multi-byte UTF-8 chars are all above 0x7F, so they are rejected like non-ASCII chars.
+     */
+    public static boolean isValid(byte[] utf8, int from, int to) {
+        int state = START;
+        for (int i = from; i < to; i++) {
+            int b = utf8[i];
+            state = NEXT[state * CLASSES + (b >= 0 ? CLASS_OF[b] : OTHER)];
+            if (state == DEAD) {
+                return false;
+            }
+        }
+        return state == TWO_LETTERS;
+    }
+
+    /**
+     * Checks bytes {@code from} (inclusive) to {@code to} (exclusive) of a buffer, e.g. a memory-mapped
+     * file, with absolute reads. The buffer position does not change.
+     */
+    public static boolean isValid(ByteBuffer buffer, int from, int to) {
+        int state = START;
+        for (int i = from; i < to; i++) {
+            int b = buffer.get(i);
+            state = NEXT[state * CLASSES + (b >= 0 ? CLASS_OF[b] : OTHER)];
+            if (state == DEAD) {
+                return false;
+            }
+        }
+        return state == TWO_LETTERS;
+    }
+
+    /**
+     * @return true if the byte can be part of an email: a local part char or '@'
+     */
+    static boolean isEmailByte(byte b) {
+        return b >= 0 && CLASS_OF[b] != OTHER;
+    }
+
+    private static void transition(int state, int charClass, int next) {
+        NEXT[state * CLASSES + charClass] = (byte) next;
+    }
+}
@@ -0,0 +1,156 @@
+package com.week01;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Palindrome check and reverse that work in place, without copies.
+ *
+ * {@link #isPalindrome(CharSequence)} walks from both ends at once, skips everything that
+ * is not a letter or digit and compares case-folded code points, so it needs no cleaned,
+ * lower-cased or reversed copy of the text and works for any script, including chars
+ * outside the BMP (surrogate pairs). {@link #reverse(char[], int, int)} reverses a buffer
+ * in place and keeps surrogate pairs in the right order.
+ */
+public final class StringKernels {
+
+    private StringKernels() {
+    }
+
+    /**
+     * @return true if the letters and digits read the same both ways ignoring case,
+     * false for null or empty text. Text with no letters or digits at all is a palindrome.
+     */
+    public static boolean isPalindrome(CharSequence text) {
+        return text != null && text.length() > 0 && isPalindrome(text, 0, text.length());
+    }
+
+    /**
+     * Checks the chars from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    public static boolean isPalindrome(CharSequence text, int from, int to) {
+        int left = from;
+        int right = to; // Exclusive
+
+        while (left < right) {
+            int leftChar = codePointAt(text, left, right);
+            int leftLength = Character.charCount(leftChar);
+            if (!Character.isLetterOrDigit(leftChar)) {
+                left += leftLength;
+                continue;
+            }
+
+            int rightChar = codePointBefore(text, right, left);
+            int rightLength = Character.charCount(rightChar);
+            if (!Character.isLetterOrDigit(rightChar)) {
+                right -= rightLength;
+                continue;
+            }
+
+            if (leftChar != rightChar && fold(leftChar) != fold(rightChar)) {
+                return false;
+            }
+            left += leftLength;
+            right -= rightLength;
+        }
+        return true;
+    }
+
+    /**
+     * Checks many words at once, in parallel for big lists.
+     *
+     * @return bitmap with bit i set if word i is a palindrome
+     */
+    public static BitSet findPalindromes(List<? extends CharSequence> words) {
+        if (!(words instanceof RandomAccess)) {
+            return findPalindromes(Arrays.asList(words.toArray(new CharSequence[0])));
+        }
+        return BitmapBatch.test(words.size(), i -> isPalindrome(words.get(i)));
+    }
+
+    public static void reverse(char[] buffer) {
+        reverse(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Reverses the chars from {@code from} (inclusive) to {@code to} (exclusive) in place.
+     * A surrogate pair stays one char (high surrogate first), like in {@link StringBuilder#reverse()}.
+     */
+    public static void reverse(char[] buffer, int from, int to) {
+        if (from < 0 || to > buffer.length || from > to) {
+            throw new IndexOutOfBoundsException("Range " + from + ".." + to + " out of bounds for " + buffer.length);
+        }
+
+        boolean hasSurrogates = false;
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            char a = buffer[i];
+            char b = buffer[j];
+            buffer[i] = b;
+            buffer[j] = a;
+            hasSurrogates |= Character.isSurrogate(a) || Character.isSurrogate(b);
+        }
+        if (hasSurrogates) {
+            restorePairs(buffer, from, to);
+        }
+    }
+
+    /**
+     * Reverses every buffer in place.
+     */
+    public static void reverseAll(char[][] buffers) {
+        for (char[] buffer : buffers) {
+            reverse(buffer);
+        }
+    }
+
+    /**
+     * After a plain reverse a pair is low + high; swap such pairs back.
+     */
+    private static void restorePairs(char[] buffer, int from, int to) {
+        for (int i = from; i < to - 1; i++) {
+            char low = buffer[i];
+            if (Character.isLowSurrogate(low) && Character.isHighSurrogate(buffer[i + 1])) {
+                buffer[i] = buffer[i + 1];
+                buffer[i + 1] = low;
+                i++;
+            }
+        }
+    }
+
+    /**
+     * @return code point starting at {@code index}, a lone surrogate as is
+     */
+    private static int codePointAt(CharSequence text, int index, int limit) {
+        char high = text.charAt(index);
+        if (Character.isHighSurrogate(high) && index + 1 < limit) {
+            char low = text.charAt(index + 1);
+            if (Character.isLowSurrogate(low)) {
+                return Character.toCodePoint(high, low);
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @return code point ending right before {@code index}, a lone surrogate as is
+     */
+    private static int codePointBefore(CharSequence text, int index, int start) {
+        char low = text.charAt(index - 1);
+        if (Character.isLowSurrogate(low) && index - 2 >= start) {
+            char high = text.charAt(index - 2);
+            if (Character.isHighSurrogate(high)) {
+                return Character.toCodePoint(high, low);
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Simple case folding, same as {@link String#equalsIgnoreCase(String)} uses.
+     */
+    private static int fold(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+}
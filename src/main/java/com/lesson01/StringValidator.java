@@ -1,12 +1,23 @@
 package com.week01;
 
+import java.util.List;
+
 public class StringValidator {
 
     public boolean isValidEmail(String email) {
         if (email == null || email.isEmpty()) {
             return false;
         }
-        return email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+        return EmailValidator.isValid(email); // Same language as EmailValidator.EMAIL_REGEX, without regex
+    }
+
+    /**
+     * Validates many emails at once, in parallel for big lists.
+     *
+     * @return bitmap of valid positions plus counts
+     */
+    public EmailBatchValidator.Result validateEmails(List<? extends CharSequence> emails) {
+        return EmailBatchValidator.validate(emails);
     }
 
     public String reverseString(String input) {
@@ -16,11 +27,16 @@ public class StringValidator {
         return new StringBuilder(input).reverse().toString();
     }
 
+    /**
+     * Letters and digits of any script count, compared ignoring case; everything else is skipped.
+     * Before {@link StringKernels} only a-z, A-Z and 0-9 counted and other letters were dropped,
+     * so results changed for non-ASCII text: "éa" was a palindrome ("a") and is not anymore,
+     * while "Ésé" still is.
+     */
     public boolean isPalindrome(String input) {
         if (input == null || input.isEmpty()) {
             return false;
         }
-        String cleaned = input.replaceAll("[^a-zA-Z0-9]", "").toLowerCase();
-        return cleaned.equals(new StringBuilder(cleaned).reverse().toString());
+        return StringKernels.isPalindrome(input); // Two pointers, no cleaned or reversed copies
     }
 }
@@ -0,0 +1,127 @@
+package com.lesson01;
+
+/**
+ * Loops behind the elementwise operations, long/double sums and even counts of {@link CalculatorKernels}.
+ *
+ * This version holds plain counted loops, the shape the C2 JIT turns into SIMD instructions
+ * (auto-vectorization). A Vector API version is in src/main/java17 and is packed into
+ * META-INF/versions/17 of a multi-release jar by the {@code vector} profile; on Java 17+
+ * it replaces this class, so CalculatorKernels calls these methods without any checks.
+ */
+final class VectorKernels {
+
+    private VectorKernels() {
+    }
+
+    /**
+     * @return true if the Vector API version of this class is loaded and used
+     */
+    static boolean isAvailable() {
+        return false;
+    }
+
+    static void add(int[] a, int[] b, int[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+
+    static void add(long[] a, long[] b, long[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+
+    static void add(double[] a, double[] b, double[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+
+    static void subtract(int[] a, int[] b, int[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    static void subtract(long[] a, long[] b, long[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    static void subtract(double[] a, double[] b, double[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    static void multiply(int[] a, int[] b, int[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    static void multiply(long[] a, long[] b, long[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    static void multiply(double[] a, double[] b, double[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    static void divide(double[] a, double[] b, double[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] / b[i];
+        }
+    }
+
+    static long sum(long[] values, int length) {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Sums in four interleaved parts so the additions do not wait for each other.
+     */
+    static double sum(double[] values, int length) {
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += values[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    static int countEvens(int[] values, int length) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += ~values[i] & 1; // Branch-free: 1 for even, 0 for odd
+        }
+        return count;
+    }
+
+    static int countEvens(long[] values, int length) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += (int) (~values[i] & 1);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,326 @@
+package com.lesson02;
+
+import com.lesson02.models.Person;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Index of people by age for fast range and histogram queries.
+ *
+ * All people are kept in one array sorted by age (a counting sort, so people with the same
+ * age keep insertion order), and an offset array holds where every age starts in it.
+ * Counting queries like {@link #countOlderThan(int)} are two array lookups, and list
+ * queries like {@link #olderThan(int)} copy one slice of the array instead of scanning everybody.
+ *
+ * The index can be updated with {@link #add(Person)} and {@link #remove(Person)}:
+ * - add puts the person into a pending list, which is sorted into the array by the next
+ *   list query (O(people + age range), so batch adds before querying)
+ * - remove finds the person by identity in the slice of its age and leaves a null hole;
+ *   the array is compacted once holes outnumber the people
+ * Counts are kept per age, so counting queries never need the array to be rebuilt.
+ * People are found by their age at the time of removal, so the age of an indexed person
+ * must not change; names and emails may, as equals/hashCode are not used.
+ * All methods are synchronized, so one index can be shared between threads.
+ */
+public class AgeIndex {
+
+    // Widest age range the index accepts, protects against garbage ages
+    private static final int MAX_RANGE = 1 << 20;
+
+    private int minAge;
+    private int[] counts;          // Number of people per age
+    private int[] offsets;         // offsets[i] = number of people younger than minAge + i
+    private boolean dirty = true;  // offsets must be recomputed from counts
+    private Person[] people = new Person[0];
+    private int[] starts = new int[1]; // Slice of age minAge + i in people: starts[i] .. starts[i + 1]
+    private final List<Person> pending = new ArrayList<>();
+    private int[] pendingSlots = new int[16]; // Age slot of every pending person when it was added
+    private int holes;
+    private int size;
+
+    public AgeIndex() {
+        this(0, 150);
+    }
+
+    /**
+     * @param minAge Lowest expected age
+     * @param maxAge Highest expected age, the range grows automatically when needed
+     */
+    public AgeIndex(int minAge, int maxAge) {
+        if (maxAge < minAge) {
+            throw new IllegalArgumentException("maxAge " + maxAge + " is less than minAge " + minAge);
+        }
+        if ((long) maxAge - minAge + 1 > MAX_RANGE) {
+            throw new IllegalArgumentException("Age range " + minAge + ".." + maxAge + " is too wide");
+        }
+        this.minAge = minAge;
+        this.counts = new int[maxAge - minAge + 1];
+        this.starts = new int[counts.length + 1];
+    }
+
+    /**
+     * Builds an index over people of one dataset.
+     *
+     * @param people People to index
+     * @return new index
+     */
+    public static AgeIndex of(Collection<Person> people) {
+        int min = 0;
+        int max = 0;
+        if (!people.isEmpty()) {
+            min = Integer.MAX_VALUE;
+            max = Integer.MIN_VALUE;
+            for (Person person : people) {
+                min = Math.min(min, person.getAge());
+                max = Math.max(max, person.getAge());
+            }
+        }
+
+        AgeIndex index = new AgeIndex(min, max);
+        index.addAll(people);
+        index.rebuild();
+        return index;
+    }
+
+    public synchronized void add(Person person) {
+        int age = person.getAge();
+        ensureRange(age);
+
+        if (pending.size() == pendingSlots.length) {
+            pendingSlots = Arrays.copyOf(pendingSlots, pendingSlots.length * 2);
+        }
+        pendingSlots[pending.size()] = age - minAge;
+        pending.add(person);
+        counts[age - minAge]++;
+        size++;
+        dirty = true;
+    }
+
+    public synchronized void addAll(Collection<Person> people) {
+        for (Person person : people) {
+            add(person);
+        }
+    }
+
+    /**
+     * Removes the given person object. Another person with equal fields is not removed.
+     * If the same object was added more than once, the first one added is removed.
+     *
+     * @return true if the person was in the index
+     */
+    public synchronized boolean remove(Person person) {
+        int age = person.getAge();
+        if (age < minAge || age >= minAge + counts.length) {
+            return false;
+        }
+
+        int slot = age - minAge;
+        if (!removeFromSlice(slot, person) && !removePending(slot, person)) {
+            return false;
+        }
+        counts[slot]--;
+        size--;
+        dirty = true;
+        if (holes > size) {
+            rebuild();
+        }
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int countByAge(int age) {
+        return countBetween(age, age);
+    }
+
+    public synchronized int countOlderThan(int age) {
+        return age == Integer.MAX_VALUE ? 0 : countBetween(age + 1, Integer.MAX_VALUE);
+    }
+
+    public synchronized int countYoungerThan(int age) {
+        return age == Integer.MIN_VALUE ? 0 : countBetween(Integer.MIN_VALUE, age - 1);
+    }
+
+    /**
+     * @return number of people with fromAge &lt;= age &lt;= toAge, 0 if fromAge &gt; toAge
+     */
+    public synchronized int countBetween(int fromAge, int toAge) {
+        if (fromAge > toAge) {
+            return 0;
+        }
+        int[] prefix = offsets();
+        return prefix[slot(toAge + 1L)] - prefix[slot(fromAge)];
+    }
+
+    public synchronized List<Person> withAge(int age) {
+        return between(age, age);
+    }
+
+    /**
+     * @return people strictly older than the given age, youngest first
+     */
+    public synchronized List<Person> olderThan(int age) {
+        return age == Integer.MAX_VALUE ? new ArrayList<>() : between(age + 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return people strictly younger than the given age, youngest first
+     */
+    public synchronized List<Person> youngerThan(int age) {
+        return age == Integer.MIN_VALUE ? new ArrayList<>() : between(Integer.MIN_VALUE, age - 1);
+    }
+
+    /**
+     * @return people with fromAge &lt;= age &lt;= toAge, youngest first; empty if fromAge &gt; toAge
+     */
+    public synchronized List<Person> between(int fromAge, int toAge) {
+        int count = countBetween(fromAge, toAge);
+        List<Person> result = new ArrayList<>(count);
+        if (count == 0) {
+            return result;
+        }
+        if (!pending.isEmpty()) {
+            rebuild();
+        }
+
+        int from = starts[slot(fromAge)];
+        int to = starts[slot(toAge + 1L)];
+        if (holes == 0) {
+            result.addAll(Arrays.asList(people).subList(from, to));
+            return result;
+        }
+        for (int i = from; i < to; i++) {
+            if (people[i] != null) {
+                result.add(people[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return number of people for every age that occurs, sorted by age
+     */
+    public synchronized SortedMap<Integer, Integer> histogram() {
+        SortedMap<Integer, Integer> histogram = new TreeMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                histogram.put(minAge + i, counts[i]);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Clamps an age (or age + 1) to a position in the offset array.
+     */
+    private int slot(long age) {
+        return (int) Math.max(0, Math.min(counts.length, age - minAge));
+    }
+
+    /**
+     * @return offsets[i] = number of people younger than minAge + i
+     */
+    private int[] offsets() {
+        if (dirty) {
+            int[] prefix = offsets != null && offsets.length == counts.length + 1
+                    ? offsets : new int[counts.length + 1];
+            for (int i = 0; i < counts.length; i++) {
+                prefix[i + 1] = prefix[i] + counts[i];
+            }
+            offsets = prefix;
+            dirty = false;
+        }
+        return offsets;
+    }
+
+    private boolean removeFromSlice(int slot, Person person) {
+        for (int i = starts[slot], end = starts[slot + 1]; i < end; i++) {
+            if (people[i] == person) {
+                people[i] = null;
+                holes++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean removePending(int slot, Person person) {
+        for (int i = 0; i < pending.size(); i++) {
+            if (pending.get(i) == person && pendingSlots[i] == slot) {
+                pending.remove(i);
+                System.arraycopy(pendingSlots, i + 1, pendingSlots, i, pending.size() - i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counting sort of the array and the pending people into a new array without holes.
+     * People already in the array come first in every age, so insertion order is kept.
+     */
+    private void rebuild() {
+        int[] newStarts = offsets().clone();
+        int[] next = Arrays.copyOf(newStarts, counts.length);
+        Person[] sorted = new Person[size];
+
+        for (int slot = 0; slot < counts.length; slot++) {
+            for (int i = starts[slot], end = starts[slot + 1]; i < end; i++) {
+                if (people[i] != null) {
+                    sorted[next[slot]++] = people[i];
+                }
+            }
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            sorted[next[pendingSlots[i]]++] = pending.get(i);
+        }
+
+        people = sorted;
+        starts = newStarts;
+        pending.clear();
+        holes = 0;
+    }
+
+    private void ensureRange(int age) {
+        long maxAge = (long) minAge + counts.length - 1;
+        if (age >= minAge && age <= maxAge) {
+            return;
+        }
+
+        int newMin = Math.min(minAge, age);
+        long newMax = Math.max(maxAge, age);
+        if (newMax - newMin + 1 > MAX_RANGE) {
+            throw new IllegalArgumentException("Age " + age + " is too far from the indexed range "
+                    + minAge + ".." + maxAge);
+        }
+        int shift = minAge - newMin;
+        int[] grownCounts = new int[(int) (newMax - newMin + 1)];
+        System.arraycopy(counts, 0, grownCounts, shift, counts.length);
+
+        // New ages get empty slices at the start or the end of the array
+        int[] grownStarts = new int[grownCounts.length + 1];
+        for (int i = 0; i < grownStarts.length; i++) {
+            grownStarts[i] = starts[Math.max(0, Math.min(counts.length, i - shift))];
+        }
+
+        for (int i = 0; i < pending.size(); i++) {
+            pendingSlots[i] += shift;
+        }
+        counts = grownCounts;
+        starts = grownStarts;
+        minAge = newMin;
+        dirty = true;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AgeIndex{size=" + size + ", ages=" + minAge + ".." + (minAge + counts.length - 1) + "}";
+    }
+}
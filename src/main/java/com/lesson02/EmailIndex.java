@@ -0,0 +1,220 @@
+package com.lesson02;
+
+import com.lesson02.models.Person;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable case-insensitive lookup of people by email.
+ *
+ * Case-insensitive hashes of all emails are computed once. Slots of an open-addressing
+ * (linear probing) table point to people, and every slot also keeps the hash so most
+ * mismatches are rejected without comparing strings. Emails are compared char by char
+ * with case folding, so a lookup is O(1) and creates no garbage - no lower-cased copies.
+ *
+ * If several people share an email (ignoring case) the first one in the input is returned.
+ * People without email are not indexed. An index can be shared between threads.
+ */
+public class EmailIndex {
+
+    // Lists smaller than this are built on one thread
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private final Person[] people;
+    private final int[] hashes;     // hash of every person's email
+    private final int[] slots;      // person index + 1, 0 = empty slot
+    private final int[] slotHashes; // copy of the hash next to the slot for fast rejects
+    private final int mask;
+    private final int size;
+
+    private EmailIndex(Person[] people, int[] hashes, int[] slots) {
+        this.people = people;
+        this.hashes = hashes;
+        this.slots = slots;
+        this.mask = slots.length - 1;
+
+        int unique = 0;
+        this.slotHashes = new int[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != 0) {
+                slotHashes[i] = hashes[slots[i] - 1];
+                unique++;
+            }
+        }
+        this.size = unique;
+    }
+
+    /**
+     * Builds an index on the calling thread.
+     *
+     * @param people Output of any reader
+     * @return new index
+     */
+    public static EmailIndex of(Collection<Person> people) {
+        Person[] array = people.toArray(new Person[0]);
+        int[] hashes = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            hashes[i] = hashOf(array[i].getEmail());
+        }
+
+        int[] slots = new int[capacityFor(array.length)];
+        int mask = slots.length - 1;
+        for (int i = 0; i < array.length; i++) {
+            String email = array[i].getEmail();
+            if (email == null) {
+                continue;
+            }
+            int slot = hashes[i] & mask;
+            while (slots[slot] != 0 && !sameEmail(array[slots[slot] - 1].getEmail(), email)) {
+                slot = (slot + 1) & mask;
+            }
+            if (slots[slot] == 0) {
+                slots[slot] = i + 1; // First person with this email wins
+            }
+        }
+        return new EmailIndex(array, hashes, slots);
+    }
+
+    /**
+     * Builds an index on the common ForkJoinPool: hashes are computed in parallel and
+     * slots are claimed with compare-and-set, so threads never block each other.
+     * Gives exactly the same lookups as {@link #of(Collection)}.
+     *
+     * @param people Output of any reader
+     * @return new index
+     */
+    public static EmailIndex ofParallel(Collection<Person> people) {
+        if (people.size() < PARALLEL_THRESHOLD) {
+            return of(people);
+        }
+
+        Person[] array = people.toArray(new Person[0]);
+        int[] hashes = new int[array.length];
+        AtomicIntegerArray slots = new AtomicIntegerArray(capacityFor(array.length));
+        int mask = slots.length() - 1;
+
+        IntStream.range(0, array.length).parallel().forEach(i -> hashes[i] = hashOf(array[i].getEmail()));
+        IntStream.range(0, array.length).parallel().forEach(i -> {
+            String email = array[i].getEmail();
+            if (email == null) {
+                return;
+            }
+            int slot = hashes[i] & mask;
+            while (true) {
+                int current = slots.get(slot);
+                if (current == 0) {
+                    if (slots.compareAndSet(slot, 0, i + 1)) {
+                        return;
+                    }
+                } else if (hashes[current - 1] == hashes[i] && sameEmail(array[current - 1].getEmail(), email)) {
+                    // Same email claimed by another thread - keep the earlier person
+                    if (i + 1 >= current || slots.compareAndSet(slot, current, i + 1)) {
+                        return;
+                    }
+                } else {
+                    slot = (slot + 1) & mask;
+                }
+            }
+        });
+
+        int[] plainSlots = new int[slots.length()];
+        for (int i = 0; i < plainSlots.length; i++) {
+            plainSlots[i] = slots.get(i);
+        }
+        return new EmailIndex(array, hashes, plainSlots);
+    }
+
+    /**
+     * @param email Email in any letter case
+     * @return first person with this email, or null
+     */
+    public Person find(CharSequence email) {
+        if (email == null) {
+            return null;
+        }
+        int hash = hashOf(email);
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            if (slotHashes[slot] == hash) {
+                Person person = people[slots[slot] - 1];
+                if (sameEmail(person.getEmail(), email)) {
+                    return person;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean contains(CharSequence email) {
+        return find(email) != null;
+    }
+
+    /**
+     * @return number of distinct emails
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return people found for the given emails, missing ones are skipped
+     */
+    public List<Person> findAll(Collection<? extends CharSequence> emails) {
+        List<Person> found = new ArrayList<>();
+        for (CharSequence email : emails) {
+            Person person = find(email);
+            if (person != null) {
+                found.add(person);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Case-insensitive hash, same folding as {@link String#equalsIgnoreCase(String)}.
+     */
+    static int hashOf(CharSequence email) {
+        if (email == null) {
+            return 0;
+        }
+        int hash = 0;
+        for (int i = 0; i < email.length(); i++) {
+            hash = 31 * hash + fold(email.charAt(i));
+        }
+        return hash ^ (hash >>> 16); // Low bits pick the slot
+    }
+
+    static boolean sameEmail(String indexed, CharSequence email) {
+        if (indexed.length() != email.length()) {
+            return false;
+        }
+        for (int i = 0; i < indexed.length(); i++) {
+            char a = indexed.charAt(i);
+            char b = email.charAt(i);
+            if (a != b && fold(a) != fold(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int capacityFor(int people) {
+        int capacity = 16;
+        while (capacity < people * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,299 @@
+package com.lesson02;
+
+import com.lesson02.models.Person;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Drops repeated people when several sources are combined (e.g. the same person in CSV, YAML and JSON).
+ *
+ * People are compared by a key - the email by default - normalized on the fly (trimmed,
+ * lower case) without creating new Strings. Instead of storing keys or Person objects, only
+ * a 64-bit fingerprint of every key is kept in a primitive open-addressing hash set
+ * (8-16 bytes per person). The chance that any two of n different keys share a fingerprint
+ * (and one unique person is dropped silently) is about n^2 / 2^65: one in 37 million for a
+ * million people, but about 3% for a billion. The set holds up to 2^29 (about 537 million)
+ * unique people; beyond that adding fails with IllegalStateException.
+ *
+ * For datasets where even fingerprints do not fit into memory, {@link #approximate(long, double)}
+ * switches to a Bloom filter: memory is fixed up front, but a small share of unique people
+ * (the false positive rate) is dropped as duplicates. The filter replaces the exact set on
+ * purpose instead of sitting in front of it as a prefilter: a prefilter whose hits are
+ * confirmed against the exact set still needs every fingerprint in memory, so it cannot help
+ * exactly the datasets that are too large for the exact set. Use the exact mode whenever
+ * dropping unique people is not acceptable.
+ *
+ * The number of kept and dropped people is reported for every source.
+ * An instance is NOT thread-safe.
+ */
+public class PersonDeduplicator {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Function<Person, ? extends CharSequence> keyExtractor;
+    private final FingerprintSet seen;
+    private final Map<String, long[]> countsBySource = new LinkedHashMap<>(); // {kept, dropped}
+
+    private PersonDeduplicator(Function<Person, ? extends CharSequence> keyExtractor, FingerprintSet seen) {
+        this.keyExtractor = keyExtractor;
+        this.seen = seen;
+    }
+
+    /**
+     * @return exact deduplicator keyed on normalized email
+     */
+    public static PersonDeduplicator byEmail() {
+        return byKey(Person::getEmail);
+    }
+
+    /**
+     * @param keyExtractor Key that identifies the same person, normalized before comparison
+     * @return exact deduplicator
+     */
+    public static PersonDeduplicator byKey(Function<Person, ? extends CharSequence> keyExtractor) {
+        return new PersonDeduplicator(keyExtractor, new LongHashSet());
+    }
+
+    /**
+     * @param expectedPeople    How many unique people are expected
+     * @param falsePositiveRate Share of unique people that may be dropped by mistake, e.g. 0.001
+     * @return approximate deduplicator keyed on normalized email, backed by a Bloom filter only;
+     * unique people are dropped at about the false positive rate
+     */
+    public static PersonDeduplicator approximate(long expectedPeople, double falsePositiveRate) {
+        return approximate(Person::getEmail, expectedPeople, falsePositiveRate);
+    }
+
+    /**
+     * @param keyExtractor      Key that identifies the same person, normalized before comparison
+     * @param expectedPeople    How many unique people are expected
+     * @param falsePositiveRate Share of unique people that may be dropped by mistake, e.g. 0.001
+     * @return approximate deduplicator backed by a Bloom filter only (no exact set behind it)
+     */
+    public static PersonDeduplicator approximate(Function<Person, ? extends CharSequence> keyExtractor,
+                                                 long expectedPeople, double falsePositiveRate) {
+        return new PersonDeduplicator(keyExtractor, new BloomFilter(expectedPeople, falsePositiveRate));
+    }
+
+    /**
+     * Checks one person and remembers its key.
+     * People without a key (null) are always kept.
+     *
+     * @param source Name of the source for the report, e.g. "csv"
+     * @param person Person to check
+     * @return true if the person is new and should be kept
+     */
+    public boolean add(String source, Person person) {
+        long[] counts = countsBySource.computeIfAbsent(source, name -> new long[2]);
+        CharSequence key = keyExtractor.apply(person);
+
+        boolean unique = key == null || seen.add(fingerprint(key));
+        counts[unique ? 0 : 1]++;
+        return unique;
+    }
+
+    /**
+     * @param source Name of the source for the report
+     * @param people People from that source
+     * @return people whose key was not seen before, in the original order
+     */
+    public List<Person> deduplicate(String source, Collection<Person> people) {
+        List<Person> unique = new ArrayList<>();
+        for (Person person : people) {
+            if (add(source, person)) {
+                unique.add(person);
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Lazy version of {@link #deduplicate(String, Collection)}. The stream must be sequential.
+     */
+    public Stream<Person> deduplicate(String source, Stream<Person> people) {
+        return people.sequential().filter(person -> add(source, person));
+    }
+
+    /**
+     * @return number of dropped duplicates per source, in the order sources were first seen
+     */
+    public Map<String, Long> getDroppedBySource() {
+        Map<String, Long> dropped = new LinkedHashMap<>();
+        countsBySource.forEach((source, counts) -> dropped.put(source, counts[1]));
+        return dropped;
+    }
+
+    /**
+     * @return number of kept people per source, in the order sources were first seen
+     */
+    public Map<String, Long> getKeptBySource() {
+        Map<String, Long> kept = new LinkedHashMap<>();
+        countsBySource.forEach((source, counts) -> kept.put(source, counts[0]));
+        return kept;
+    }
+
+    public long getDropped() {
+        return countsBySource.values().stream().mapToLong(counts -> counts[1]).sum();
+    }
+
+    public long getKept() {
+        return countsBySource.values().stream().mapToLong(counts -> counts[0]).sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("PersonDeduplicator{");
+        countsBySource.forEach((source, counts) -> report.append(source)
+                .append(": kept=").append(counts[0])
+                .append(", dropped=").append(counts[1]).append("; "));
+        return report.append("total kept=").append(getKept()).append(", dropped=").append(getDropped()).append('}')
+                .toString();
+    }
+
+    /**
+     * 64-bit FNV-1a over the trimmed, lower-cased key plus a final bit mix. Allocation free.
+     */
+    static long fingerprint(CharSequence key) {
+        int from = 0;
+        int to = key.length();
+        while (from < to && Character.isWhitespace(key.charAt(from))) {
+            from++;
+        }
+        while (to > from && Character.isWhitespace(key.charAt(to - 1))) {
+            to--;
+        }
+
+        long hash = FNV_OFFSET;
+        for (int i = from; i < to; i++) {
+            char c = Character.toLowerCase(key.charAt(i));
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * MurmurHash3 finalizer - spreads all input bits over the whole long.
+     */
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private interface FingerprintSet {
+        /**
+         * @return true if the fingerprint was not in the set
+         */
+        boolean add(long fingerprint);
+    }
+
+    /**
+     * Open-addressing (linear probing) set of longs. 0 marks an empty slot,
+     * so the fingerprint 0 is tracked by a separate flag.
+     */
+    private static class LongHashSet implements FingerprintSet {
+        // Biggest power of two an array can have; the table is kept at most half full
+        private static final int MAX_SLOTS = 1 << 30;
+
+        private long[] slots = new long[1024];
+        private int size;
+        private boolean containsZero;
+
+        @Override
+        public boolean add(long fingerprint) {
+            if (fingerprint == 0) {
+                boolean added = !containsZero;
+                containsZero = true;
+                return added;
+            }
+
+            int mask = slots.length - 1;
+            int i = (int) fingerprint & mask;
+            while (slots[i] != 0) {
+                if (slots[i] == fingerprint) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            if (size >= slots.length / 2) {
+                grow();
+                return add(fingerprint); // Slot moved
+            }
+            slots[i] = fingerprint;
+            size++;
+            return true;
+        }
+
+        private void grow() {
+            if (slots.length >= MAX_SLOTS) {
+                throw new IllegalStateException("Too many unique people for exact deduplication: " + size
+                        + ", use PersonDeduplicator.approximate");
+            }
+            long[] old = slots;
+            slots = new long[old.length * 2];
+            int mask = slots.length - 1;
+            for (long fingerprint : old) {
+                if (fingerprint != 0) {
+                    int i = (int) fingerprint & mask;
+                    while (slots[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    slots[i] = fingerprint;
+                }
+            }
+        }
+    }
+
+    /**
+     * Bloom filter with double hashing of the 64-bit fingerprint.
+     */
+    private static class BloomFilter implements FingerprintSet {
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        private BloomFilter(long expectedPeople, double falsePositiveRate) {
+            if (expectedPeople <= 0) {
+                throw new IllegalArgumentException("Expected people must be positive: " + expectedPeople);
+            }
+            if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+                throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+            }
+
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-expectedPeople * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, (Math.max(64, optimalBits) + 63) / 64)];
+            this.bitCount = bits.length * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedPeople * ln2));
+        }
+
+        @Override
+        public boolean add(long fingerprint) {
+            int h1 = (int) fingerprint;
+            int h2 = (int) (fingerprint >>> 32);
+            boolean added = false;
+
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                if ((bits[word] & mask) == 0) {
+                    bits[word] |= mask;
+                    added = true;
+                }
+            }
+            return added;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.lesson02;
+
+import com.lesson02.models.Person;
+import com.lesson02.models.PersonTable;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Group-by reports over people, e.g. count and average age by email domain or by age decade.
+ *
+ * Every worker thread (every split of a parallel stream) fills its own plain HashMap of
+ * partial results, and the partial maps are merged once at the end. There is no shared
+ * concurrent map and no locking per record. Built-in aggregates are one {@link PersonStats}
+ * or one long[1] counter per group, and PersonStats of small groups do not allocate the full
+ * age histogram, so keys with many small groups like {@link #EMAIL_DOMAIN} stay cheap.
+ * Keys are objects: the int keys {@link #AGE} and {@link #AGE_DECADE} are boxed Integers,
+ * but ages fall into the Integer cache (-128..127), so boxing them creates no objects.
+ * For tables the built-in keys read only the columns they need, so grouping by age decade
+ * never decodes a name or email.
+ * Usage:
+ * <pre>
+ * Map&lt;String, PersonStats&gt; byDomain = PersonGroupBy.by(PersonGroupBy.EMAIL_DOMAIN)
+ *         .stats(CSVReader.streamPersonsFromCSV("people.csv").parallel());
+ * Map&lt;Integer, Long&gt; byDecade = PersonGroupBy.by(PersonGroupBy.AGE_DECADE).count(table);
+ * </pre>
+ *
+ * Streams are processed in parallel only if they are parallel; tables always are.
+ *
+ * @param <K> Group key type
+ */
+public class PersonGroupBy<K> {
+
+    /**
+     * Extracts the group key of a person.
+     *
+     * @param <K> Group key type
+     */
+    public interface KeyExtractor<K> {
+
+        K keyOf(Person person);
+
+        /**
+         * Key of a table row. Override it to read only the needed columns; the default builds a Person.
+         */
+        default K keyOf(PersonTable table, int index) {
+            return keyOf(table.get(index));
+        }
+    }
+
+    /**
+     * Exact age.
+     */
+    public static final KeyExtractor<Integer> AGE = new KeyExtractor<Integer>() {
+        @Override
+        public Integer keyOf(Person person) {
+            return person.getAge();
+        }
+
+        @Override
+        public Integer keyOf(PersonTable table, int index) {
+            return table.getAge(index);
+        }
+    };
+
+    /**
+     * First age of the decade, e.g. 30 for ages 30 to 39.
+     */
+    public static final KeyExtractor<Integer> AGE_DECADE = new KeyExtractor<Integer>() {
+        @Override
+        public Integer keyOf(Person person) {
+            return decadeOf(person.getAge());
+        }
+
+        @Override
+        public Integer keyOf(PersonTable table, int index) {
+            return decadeOf(table.getAge(index));
+        }
+    };
+
+    /**
+     * Lower-case part of the email after the last '@', or "" if there is no email or no '@'.
+     */
+    public static final KeyExtractor<String> EMAIL_DOMAIN = new KeyExtractor<String>() {
+        @Override
+        public String keyOf(Person person) {
+            return domainOf(person.getEmail());
+        }
+
+        @Override
+        public String keyOf(PersonTable table, int index) {
+            return domainOf(table.getEmail(index));
+        }
+    };
+
+    private final KeyExtractor<K> key;
+
+    private PersonGroupBy(KeyExtractor<K> key) {
+        this.key = key;
+    }
+
+    /**
+     * @param key Built-in key like {@link #EMAIL_DOMAIN}, or any lambda, e.g. {@code person -> person.getName()}
+     */
+    public static <K> PersonGroupBy<K> by(KeyExtractor<K> key) {
+        return new PersonGroupBy<>(key);
+    }
+
+    // ============================================
+    // Streams
+    // ============================================
+
+    /**
+     * @return count, sum, min, max, mean, variance and percentiles of ages per group
+     */
+    public Map<K, PersonStats> stats(Stream<Person> people) {
+        return aggregate(people, PersonStats.collector());
+    }
+
+    /**
+     * @return number of people per group
+     */
+    public Map<K, Long> count(Stream<Person> people) {
+        return aggregate(people, Collectors.counting());
+    }
+
+    /**
+     * Groups people and reduces every group with a custom aggregator.
+     *
+     * @param people     Stream of people, may be parallel
+     * @param aggregator Collector applied per group; its combiner merges partial results of two threads
+     * @return result per group
+     */
+    public <A, R> Map<K, R> aggregate(Stream<Person> people, Collector<Person, A, R> aggregator) {
+        Supplier<A> supplier = aggregator.supplier();
+        BiConsumer<A, Person> accumulator = aggregator.accumulator();
+        Map<K, A> partials = people.collect(HashMap::new,
+                (map, person) -> accumulator.accept(map.computeIfAbsent(key.keyOf(person), k -> supplier.get()), person),
+                (map, other) -> merge(map, other, aggregator.combiner()));
+        return finish(partials, aggregator);
+    }
+
+    // ============================================
+    // Tables
+    // ============================================
+
+    /**
+     * Same as {@link #stats(Stream)}, in parallel over row ranges. Only ages are read for the
+     * stats, so oldest and youngest people are not tracked.
+     */
+    public Map<K, PersonStats> stats(PersonTable table) {
+        return IntStream.range(0, table.size()).parallel()
+                .collect(HashMap::new,
+                        (map, index) -> map.computeIfAbsent(key.keyOf(table, index), k -> new PersonStats())
+                                .accept(table.getAge(index)),
+                        (map, other) -> merge(map, other, PersonStats::combine));
+    }
+
+    public Map<K, Long> count(PersonTable table) {
+        Map<K, long[]> partials = IntStream.range(0, table.size()).parallel()
+                .collect(HashMap::new,
+                        (map, index) -> map.computeIfAbsent(key.keyOf(table, index), k -> new long[1])[0]++,
+                        (map, other) -> merge(map, other, (a, b) -> {
+                            a[0] += b[0];
+                            return a;
+                        }));
+
+        Map<K, Long> counts = new HashMap<>(partials.size() * 2);
+        partials.forEach((k, count) -> counts.put(k, count[0]));
+        return counts;
+    }
+
+    /**
+     * Same as {@link #aggregate(Stream, Collector)} over all rows of a table, in parallel.
+     * Every row is turned into a Person.
+     */
+    public <A, R> Map<K, R> aggregate(PersonTable table, Collector<Person, A, R> aggregator) {
+        return aggregate(table.stream().parallel(), aggregator);
+    }
+
+    // ============================================
+    // Helpers
+    // ============================================
+
+    static int decadeOf(int age) {
+        return Math.floorDiv(age, 10) * 10;
+    }
+
+    static String domainOf(String email) {
+        if (email == null) {
+            return "";
+        }
+        int at = email.lastIndexOf('@');
+        return at < 0 ? "" : email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Merges the partial map of another thread into the first one.
+     */
+    private static <K, A> void merge(Map<K, A> map, Map<K, A> other, BinaryOperator<A> combiner) {
+        if (map.isEmpty()) {
+            map.putAll(other);
+            return;
+        }
+        other.forEach((k, partial) -> map.merge(k, partial, combiner));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, A, R> Map<K, R> finish(Map<K, A> partials, Collector<Person, A, R> aggregator) {
+        if (aggregator.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            return (Map<K, R>) partials;
+        }
+        Function<A, R> finisher = aggregator.finisher();
+        Map<K, R> result = new HashMap<>(partials.size() * 2);
+        partials.forEach((k, partial) -> result.put(k, finisher.apply(partial)));
+        return result;
+    }
+}
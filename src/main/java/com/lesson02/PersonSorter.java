@@ -0,0 +1,142 @@
+package com.lesson02;
+
+import com.lesson02.models.Person;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Sorts people by age with a stable counting sort.
+ *
+ * Ages fall into a tiny range, so instead of comparing people (O(n log n)) we count
+ * how many people have every age and place each person straight into its slot (O(n + range)).
+ * The result is exactly what {@code list.sort(Comparator.comparingInt(Person::getAge))}
+ * (or its {@code reversed()} version) gives: people with equal ages keep their original order.
+ */
+public class PersonSorter {
+
+    // Above this many distinct age values the count array costs more than it saves
+    private static final int MAX_COUNTING_RANGE = 1 << 16;
+
+    // Lists smaller than this are not worth splitting between threads
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * @param people List to sort, not modified
+     * @param order  ASC for youngest first, DESC for oldest first
+     * @return new sorted list
+     */
+    public static List<Person> sortByAge(List<Person> people, SortOrder order) {
+        Objects.requireNonNull(order, "Sort order cannot be null");
+        Person[] input = people.toArray(new Person[0]);
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (Person person : input) {
+            min = Math.min(min, person.getAge());
+            max = Math.max(max, person.getAge());
+        }
+        if (input.length < 2) {
+            return new ArrayList<>(Arrays.asList(input));
+        }
+        if ((long) max - min >= MAX_COUNTING_RANGE) {
+            return comparatorSort(input, order);
+        }
+
+        int[] offsets = new int[max - min + 1];
+        for (Person person : input) {
+            offsets[bucket(person.getAge(), min, max, order)]++;
+        }
+        toStartOffsets(offsets);
+
+        Person[] output = new Person[input.length];
+        for (Person person : input) {
+            output[offsets[bucket(person.getAge(), min, max, order)]++] = person;
+        }
+        return new ArrayList<>(Arrays.asList(output));
+    }
+
+    /**
+     * Parallel counting sort for very large lists. Every thread counts ages in its own slice,
+     * then moves its people into disjoint slots of the result, so no locking is needed.
+     * Gives the same order as {@link #sortByAge(List, SortOrder)}.
+     *
+     * @param people List to sort, not modified
+     * @param order  ASC for youngest first, DESC for oldest first
+     * @return new sorted list
+     */
+    public static List<Person> parallelSortByAge(List<Person> people, SortOrder order) {
+        Objects.requireNonNull(order, "Sort order cannot be null");
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        if (people.size() < PARALLEL_THRESHOLD) {
+            return sortByAge(people, order);
+        }
+
+        Person[] input = people.toArray(new Person[0]);
+        int min = IntStream.range(0, input.length).parallel().map(i -> input[i].getAge()).min().getAsInt();
+        int max = IntStream.range(0, input.length).parallel().map(i -> input[i].getAge()).max().getAsInt();
+        if ((long) max - min >= MAX_COUNTING_RANGE) {
+            return comparatorSort(input, order);
+        }
+
+        int slices = parallelism * 4;
+        int sliceSize = (input.length + slices - 1) / slices;
+        int range = max - min + 1;
+        int[][] offsets = new int[slices][range];
+
+        // 1. Count ages in every slice
+        IntStream.range(0, slices).parallel().forEach(slice -> {
+            int[] counts = offsets[slice];
+            for (int i = slice * sliceSize, end = Math.min(input.length, i + sliceSize); i < end; i++) {
+                counts[bucket(input[i].getAge(), min, max, order)]++;
+            }
+        });
+
+        // 2. Bucket by bucket, earlier slices get earlier slots - that keeps the sort stable
+        int position = 0;
+        for (int bucket = 0; bucket < range; bucket++) {
+            for (int slice = 0; slice < slices; slice++) {
+                int count = offsets[slice][bucket];
+                offsets[slice][bucket] = position;
+                position += count;
+            }
+        }
+
+        // 3. Move people into their slots
+        Person[] output = new Person[input.length];
+        IntStream.range(0, slices).parallel().forEach(slice -> {
+            int[] next = offsets[slice];
+            for (int i = slice * sliceSize, end = Math.min(input.length, i + sliceSize); i < end; i++) {
+                output[next[bucket(input[i].getAge(), min, max, order)]++] = input[i];
+            }
+        });
+        return new ArrayList<>(Arrays.asList(output));
+    }
+
+    private static int bucket(int age, int min, int max, SortOrder order) {
+        return order == SortOrder.ASC ? age - min : max - age;
+    }
+
+    /**
+     * Turns counts into the first slot of every bucket.
+     */
+    private static void toStartOffsets(int[] counts) {
+        int position = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            counts[i] = position;
+            position += count;
+        }
+    }
+
+    private static List<Person> comparatorSort(Person[] input, SortOrder order) {
+        Comparator<Person> byAge = Comparator.comparingInt(Person::getAge);
+        List<Person> sorted = new ArrayList<>(Arrays.asList(input));
+        sorted.sort(order == SortOrder.ASC ? byAge : byAge.reversed());
+        return sorted;
+    }
+}
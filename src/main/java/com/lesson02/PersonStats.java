@@ -0,0 +1,288 @@
+package com.lesson02;
+
+import com.lesson02.models.Person;
+import com.lesson02.models.PersonTable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Age statistics of a group of people, computed in a single pass.
+ *
+ * Tracks count, sum (as long, so it does not overflow), min, max, mean, variance
+ * (Welford's algorithm) and an age histogram for percentiles. When fed with Person
+ * objects it also remembers the oldest and youngest person (the first one on ties).
+ * Small groups keep their few ages in a small array and switch to the full histogram
+ * (2 KB) only when they grow, so many small groups (e.g. per email domain) stay cheap.
+ *
+ * Results of parallel substreams are merged with {@link #combine(PersonStats)};
+ * {@link #collector()} does that automatically for parallel streams.
+ * An instance is NOT thread-safe - use one per thread and combine them.
+ */
+public class PersonStats implements IntConsumer {
+
+    // Ages from 0 to this value are counted exactly for percentiles, others are clamped
+    public static final int MAX_TRACKED_AGE = 255;
+    // Groups up to this size keep their ages in smallAges instead of the histogram
+    private static final int SMALL_GROUP = 16;
+
+    private long count;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    private double mean;
+    private double squaredDeviations;
+    private long[] histogram;  // Created once the group has more than SMALL_GROUP people
+    private int[] smallAges;   // Clamped ages while there is no histogram
+    private int smallSize;
+    private Person oldest;
+    private Person youngest;
+
+    public static PersonStats of(List<Person> people) {
+        PersonStats stats = new PersonStats();
+        for (Person person : people) {
+            stats.accept(person);
+        }
+        return stats;
+    }
+
+    /**
+     * @param people Stream of people, may be parallel
+     */
+    public static PersonStats of(Stream<Person> people) {
+        return people.collect(collector());
+    }
+
+    public static PersonStats of(PersonTable table) {
+        PersonStats stats = new PersonStats();
+        table.ages().forEachOrdered(stats);
+        return stats;
+    }
+
+    /**
+     * @return collector that builds one PersonStats per substream and combines them
+     */
+    public static Collector<Person, PersonStats, PersonStats> collector() {
+        return Collector.of(PersonStats::new, PersonStats::accept, PersonStats::combine);
+    }
+
+    public void accept(Person person) {
+        int age = person.getAge();
+        if (oldest == null || age > oldest.getAge()) {
+            oldest = person;
+        }
+        if (youngest == null || age < youngest.getAge()) {
+            youngest = person;
+        }
+        accept(age);
+    }
+
+    @Override
+    public void accept(int age) {
+        count++;
+        sum += age;
+        min = Math.min(min, age);
+        max = Math.max(max, age);
+
+        double delta = age - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (age - mean);
+
+        record(Math.min(Math.max(age, 0), MAX_TRACKED_AGE));
+    }
+
+    /**
+     * Merges another result into this one. People fed into this instance count as earlier
+     * than the ones of {@code other} when picking the oldest/youngest on ties.
+     *
+     * @return this
+     */
+    public PersonStats combine(PersonStats other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            mean = other.mean;
+            squaredDeviations = other.squaredDeviations;
+        } else {
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            squaredDeviations += other.squaredDeviations + delta * delta * count * other.count / total;
+        }
+
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        if (other.histogram == null) {
+            for (int i = 0; i < other.smallSize; i++) {
+                record(other.smallAges[i]);
+            }
+        } else {
+            long[] merged = switchToHistogram();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += other.histogram[i];
+            }
+        }
+        if (other.oldest != null && (oldest == null || other.oldest.getAge() > oldest.getAge())) {
+            oldest = other.oldest;
+        }
+        if (other.youngest != null && (youngest == null || other.youngest.getAge() < youngest.getAge())) {
+            youngest = other.youngest;
+        }
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * @return smallest age, or 0 if there are no people
+     */
+    public int getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * @return biggest age, or 0 if there are no people
+     */
+    public int getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * @return average age, or 0 if there are no people
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @return population variance of ages, or 0 if there are no people
+     */
+    public double getVariance() {
+        return count == 0 ? 0 : squaredDeviations / count;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Nearest-rank percentile from the age histogram. Exact for ages from 0 to
+     * {@link #MAX_TRACKED_AGE}, ages outside that range are counted at the closest edge.
+     *
+     * @param percentile Value from 0 to 100, e.g. 50 for the median
+     * @return age at the given percentile, or 0 if there are no people
+     */
+    public int getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long[] histogram = histogram();
+        long seen = 0;
+        for (int age = 0; age < histogram.length; age++) {
+            seen += histogram[age];
+            if (seen >= rank) {
+                return age;
+            }
+        }
+        return MAX_TRACKED_AGE;
+    }
+
+    public int getMedian() {
+        return getPercentile(50);
+    }
+
+    /**
+     * Number of people per age. Ages outside 0..{@link #MAX_TRACKED_AGE} are counted at the closest edge.
+     *
+     * @return ages with at least one person, in ascending order
+     */
+    public SortedMap<Integer, Long> getHistogram() {
+        SortedMap<Integer, Long> result = new TreeMap<>();
+        long[] histogram = histogram();
+        for (int age = 0; age < histogram.length; age++) {
+            if (histogram[age] > 0) {
+                result.put(age, histogram[age]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return first oldest person, or null if stats were fed with ages only
+     */
+    public Person getOldest() {
+        return oldest;
+    }
+
+    /**
+     * @return first youngest person, or null if stats were fed with ages only
+     */
+    public Person getYoungest() {
+        return youngest;
+    }
+
+    /**
+     * Counts one clamped age in the histogram, or in smallAges while the group is small.
+     */
+    private void record(int age) {
+        if (histogram == null) {
+            if (smallSize < SMALL_GROUP) {
+                if (smallAges == null || smallSize == smallAges.length) {
+                    smallAges = smallAges == null ? new int[4] : Arrays.copyOf(smallAges, SMALL_GROUP);
+                }
+                smallAges[smallSize++] = age;
+                return;
+            }
+            switchToHistogram();
+        }
+        histogram[age]++;
+    }
+
+    private long[] switchToHistogram() {
+        if (histogram == null) {
+            histogram = histogram();
+            smallAges = null;
+            smallSize = 0;
+        }
+        return histogram;
+    }
+
+    /**
+     * @return the histogram, or a new one built from smallAges
+     */
+    private long[] histogram() {
+        if (histogram != null) {
+            return histogram;
+        }
+        long[] counts = new long[MAX_TRACKED_AGE + 1];
+        for (int i = 0; i < smallSize; i++) {
+            counts[smallAges[i]]++;
+        }
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return "PersonStats{count=" + count + ", sum=" + sum + ", min=" + getMin() + ", max=" + getMax()
+                + ", mean=" + getMean() + ", variance=" + getVariance() + ", median=" + getMedian() + "}";
+    }
+}
@@ -0,0 +1,188 @@
+package com.lesson02;
+
+import com.lesson02.models.Person;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the K oldest (or youngest) people of a stream without sorting or storing it.
+ *
+ * A bounded binary heap on primitive age/sequence arrays holds the K best people seen
+ * so far with the "worst" of them on top, so every new person costs O(log K) and memory
+ * stays O(K). The result is the same as sorting everybody with {@link PersonSorter}
+ * and taking the first K: people with equal ages keep their stream order.
+ *
+ * Partial results of split inputs are merged with {@link #combine(PersonTopK)};
+ * the collectors do that for parallel streams. An instance is NOT thread-safe.
+ */
+public class PersonTopK implements Consumer<Person> {
+
+    private final int k;
+    private final SortOrder order;
+    private final int[] ages;
+    private final long[] sequence;
+    private final Person[] people;
+    private int size;
+    private long seen;
+
+    /**
+     * @param k     How many people to keep
+     * @param order DESC keeps the oldest, ASC keeps the youngest
+     */
+    public PersonTopK(int k, SortOrder order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("K cannot be negative: " + k);
+        }
+        this.k = k;
+        this.order = order;
+        this.ages = new int[k];
+        this.sequence = new long[k];
+        this.people = new Person[k];
+    }
+
+    public static PersonTopK oldest(int k) {
+        return new PersonTopK(k, SortOrder.DESC);
+    }
+
+    public static PersonTopK youngest(int k) {
+        return new PersonTopK(k, SortOrder.ASC);
+    }
+
+    /**
+     * @return K oldest people of the stream, oldest first
+     */
+    public static List<Person> oldest(Stream<Person> people, int k) {
+        return people.collect(oldestCollector(k));
+    }
+
+    /**
+     * @return K youngest people of the stream, youngest first
+     */
+    public static List<Person> youngest(Stream<Person> people, int k) {
+        return people.collect(youngestCollector(k));
+    }
+
+    public static Collector<Person, PersonTopK, List<Person>> oldestCollector(int k) {
+        return Collector.of(() -> oldest(k), PersonTopK::accept, PersonTopK::combine, PersonTopK::result);
+    }
+
+    public static Collector<Person, PersonTopK, List<Person>> youngestCollector(int k) {
+        return Collector.of(() -> youngest(k), PersonTopK::accept, PersonTopK::combine, PersonTopK::result);
+    }
+
+    @Override
+    public void accept(Person person) {
+        offer(person.getAge(), seen++, person);
+    }
+
+    /**
+     * Merges people from another selector that saw the input AFTER this one.
+     *
+     * @return this
+     */
+    public PersonTopK combine(PersonTopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ages[i], seen + other.sequence[i], other.people[i]);
+        }
+        seen += other.seen;
+        return this;
+    }
+
+    /**
+     * @return kept people, best first (oldest first for DESC, youngest first for ASC)
+     */
+    public List<Person> result() {
+        Integer[] slots = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = i;
+        }
+        Arrays.sort(slots, (a, b) -> better(a, b) ? -1 : better(b, a) ? 1 : 0);
+
+        List<Person> result = new ArrayList<>(size);
+        for (Integer slot : slots) {
+            result.add(people[slot]);
+        }
+        return result;
+    }
+
+    /**
+     * @return number of people offered so far
+     */
+    public long getSeen() {
+        return seen;
+    }
+
+    private void offer(int age, long seq, Person person) {
+        if (size < k) {
+            ages[size] = age;
+            sequence[size] = seq;
+            people[size] = person;
+            siftUp(size++);
+        } else if (k > 0 && better(age, seq, ages[0], sequence[0])) {
+            ages[0] = age;
+            sequence[0] = seq;
+            people[0] = person;
+            siftDown(0);
+        }
+    }
+
+    // Heap keeps the WORST kept person on top: a parent is never better than its children
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(parent, i)) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(left, right)) {
+                worst = right;
+            }
+            if (!better(i, worst)) {
+                break;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private boolean better(int slotA, int slotB) {
+        return better(ages[slotA], sequence[slotA], ages[slotB], sequence[slotB]);
+    }
+
+    private boolean better(int ageA, long seqA, int ageB, long seqB) {
+        if (ageA != ageB) {
+            return order == SortOrder.DESC ? ageA > ageB : ageA < ageB;
+        }
+        return seqA < seqB; // Earlier person wins on equal ages
+    }
+
+    private void swap(int a, int b) {
+        int age = ages[a];
+        ages[a] = ages[b];
+        ages[b] = age;
+        long seq = sequence[a];
+        sequence[a] = sequence[b];
+        sequence[b] = seq;
+        Person person = people[a];
+        people[a] = people[b];
+        people[b] = person;
+    }
+}
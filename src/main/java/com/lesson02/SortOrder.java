@@ -0,0 +1,8 @@
+package com.lesson02;
+
+/**
+ * Sorting direction for people lists.
+ */
+public enum SortOrder {
+    ASC, DESC
+}
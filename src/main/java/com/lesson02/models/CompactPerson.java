@@ -0,0 +1,160 @@
+package com.lesson02.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Memory-saving, immutable form of {@link Person} made by
+ * {@link com.lesson02.utils.CompactPersonLoader}.
+ *
+ * The email is split into the local part and the domain, and the domain is a canonical
+ * String shared by all people of one loader, so "example.com" is stored once instead of
+ * once per person. The local part is kept as a plain byte[] of Latin-1 chars without the
+ * String object around it (almost every email fits), and so can the name. Getters build
+ * the Strings on every call.
+ */
+public final class CompactPerson {
+
+    private final Object name;      // byte[] with Latin-1 chars, or String
+    private final int age;
+    private final Object emailLocal; // same as name; whole email if it has no '@'
+    private final String domain;     // shared instance, null if the email has no '@'
+
+    private CompactPerson(Object name, int age, Object emailLocal, String domain) {
+        this.name = name;
+        this.age = age;
+        this.emailLocal = emailLocal;
+        this.domain = domain;
+    }
+
+    /**
+     * @param name        Name, may be null
+     * @param emailLocal  Part of the email before the last '@' (the whole email if it has no '@'),
+     *                    kept as Latin-1 bytes if it fits; may be null
+     * @param domain      Part after the last '@', null if there is no '@'; pass a shared instance
+     * @param latin1Name  Keep the name as Latin-1 bytes too if it fits
+     */
+    public static CompactPerson of(String name, int age, String emailLocal, String domain, boolean latin1Name) {
+        return new CompactPerson(latin1Name ? toLatin1(name) : name, age, toLatin1(emailLocal), domain);
+    }
+
+    public String getName() {
+        return toText(name);
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public String getEmail() {
+        if (domain == null) {
+            return getEmailLocal();
+        }
+        return getEmailLocal() + '@' + domain;
+    }
+
+    public String getEmailLocal() {
+        return toText(emailLocal);
+    }
+
+    /**
+     * @return canonical domain instance, or null if the email has no '@'
+     */
+    public String getDomain() {
+        return domain;
+    }
+
+    public boolean hasName() {
+        return name != null;
+    }
+
+    public boolean hasEmail() {
+        return emailLocal != null;
+    }
+
+    /**
+     * @return true if the name is kept as Latin-1 bytes
+     */
+    public boolean hasLatin1Name() {
+        return name instanceof byte[];
+    }
+
+    /**
+     * @return length of the stored name in bytes (Latin-1) or chars (String), 0 if there is no name
+     */
+    public int getNameLength() {
+        return lengthOf(name);
+    }
+
+    /**
+     * @return true if the email local part is kept as Latin-1 bytes
+     */
+    public boolean hasLatin1EmailLocal() {
+        return emailLocal instanceof byte[];
+    }
+
+    /**
+     * @return length of the stored email local part in bytes (Latin-1) or chars (String), 0 if there is no email
+     */
+    public int getEmailLocalLength() {
+        return lengthOf(emailLocal);
+    }
+
+    public Person toPerson() {
+        return new Person(getName(), age, getEmail());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompactPerson)) {
+            return false;
+        }
+        CompactPerson other = (CompactPerson) o;
+        return age == other.age
+                && Objects.equals(getName(), other.getName())
+                && Objects.equals(getEmailLocal(), other.getEmailLocal())
+                && Objects.equals(domain, other.domain);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getName(), age, getEmailLocal(), domain);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactPerson(name=" + getName() + ", age=" + age + ", email=" + getEmail() + ")";
+    }
+
+    /**
+     * @return Latin-1 bytes of the text, or the text itself if it has other chars or is null
+     */
+    private static Object toLatin1(String text) {
+        if (text == null) {
+            return null;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                return text; // Not Latin-1, keep the String
+            }
+        }
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static String toText(Object text) {
+        if (text instanceof byte[]) {
+            return new String((byte[]) text, StandardCharsets.ISO_8859_1);
+        }
+        return (String) text;
+    }
+
+    private static int lengthOf(Object text) {
+        if (text instanceof byte[]) {
+            return ((byte[]) text).length;
+        }
+        return text == null ? 0 : ((String) text).length();
+    }
+}
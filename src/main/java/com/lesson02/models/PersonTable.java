@@ -0,0 +1,401 @@
+package com.lesson02.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Columnar (struct-of-arrays) storage for many people.
+ *
+ * Instead of one Person object per record the table keeps:
+ * - int[] with all ages
+ * - one byte[] with all names (UTF-8) and an int[] with the offset of every name
+ * - one byte[] with all emails (UTF-8) and an int[] with the offset of every email
+ * - byte[] with null flags, so a null name or email comes back as null and not as ""
+ *
+ * Scans over ages (average, "older than 30") walk a single int array instead of
+ * chasing pointers through the heap. Use {@link #row(int)} for a lightweight view
+ * of one record, or {@link #get(int)} when a real Person object is needed.
+ *
+ * A table is immutable after {@link Builder#build()} and can be shared between threads.
+ */
+public class PersonTable {
+
+    private static final byte NULL_NAME = 1;
+    private static final byte NULL_EMAIL = 2;
+
+    private final int size;
+    private final int[] ages;
+    private final int[] nameOffsets;
+    private final byte[] names;
+    private final int[] emailOffsets;
+    private final byte[] emails;
+    private final byte[] nulls;
+
+    private PersonTable(int size, int[] ages, int[] nameOffsets, byte[] names, int[] emailOffsets, byte[] emails,
+                        byte[] nulls) {
+        this.size = size;
+        this.ages = ages;
+        this.nameOffsets = nameOffsets;
+        this.names = names;
+        this.emailOffsets = emailOffsets;
+        this.emails = emails;
+        this.nulls = nulls;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param persons People to copy into columns
+     * @return new table with the people in list order
+     */
+    public static PersonTable of(List<Person> persons) {
+        Builder builder = new Builder(persons.size());
+        persons.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Builds a table from any reader stream, e.g. CSVReader.streamPersonsFromCSV(path).
+     * The stream is consumed but not closed.
+     *
+     * @param persons People to copy into columns
+     * @return new table with the people in stream order
+     */
+    public static PersonTable from(Stream<Person> persons) {
+        Builder builder = new Builder();
+        persons.forEachOrdered(builder::add);
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getAge(int index) {
+        checkIndex(index);
+        return ages[index];
+    }
+
+    public String getName(int index) {
+        checkIndex(index);
+        return decode(names, nameOffsets, index, NULL_NAME);
+    }
+
+    public String getEmail(int index) {
+        checkIndex(index);
+        return decode(emails, emailOffsets, index, NULL_EMAIL);
+    }
+
+    /**
+     * Runs a check on the UTF-8 bytes of one email without decoding it into a String.
+     * A missing email is an empty range.
+     */
+    public boolean testEmailBytes(int index, BytesPredicate predicate) {
+        checkIndex(index);
+        return predicate.test(emails, emailOffsets[index], emailOffsets[index + 1]);
+    }
+
+    /**
+     * @return new Person object for one record
+     */
+    public Person get(int index) {
+        return new Person(getName(index), getAge(index), getEmail(index));
+    }
+
+    /**
+     * @return lightweight view of one record, strings are decoded only when asked for
+     */
+    public Row row(int index) {
+        return new Row().moveTo(index);
+    }
+
+    /**
+     * @return all ages as a stream, no objects are created per record
+     */
+    public IntStream ages() {
+        return Arrays.stream(ages, 0, size);
+    }
+
+    /**
+     * @return all records as new Person objects
+     */
+    public Stream<Person> stream() {
+        return IntStream.range(0, size).mapToObj(this::get);
+    }
+
+    // ============================================
+    // Scans and aggregates over the age column
+    // ============================================
+
+    public long sumAges() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += ages[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return average age, or 0 for an empty table
+     */
+    public double averageAge() {
+        return size == 0 ? 0 : (double) sumAges() / size;
+    }
+
+    /**
+     * @return smallest age, or Integer.MAX_VALUE for an empty table
+     */
+    public int minAge() {
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, ages[i]);
+        }
+        return min;
+    }
+
+    /**
+     * @return biggest age, or Integer.MIN_VALUE for an empty table
+     */
+    public int maxAge() {
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, ages[i]);
+        }
+        return max;
+    }
+
+    /**
+     * @return number of people strictly older than the given age
+     */
+    public int countOlderThan(int age) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (ages[i] > age) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param agePredicate Condition on the age column
+     * @return indexes of matching records in table order
+     */
+    public int[] indexesWhereAge(IntPredicate agePredicate) {
+        int[] matches = new int[Math.min(size, 16)];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (agePredicate.test(ages[i])) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, Math.max(16, count * 2));
+                }
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * @param agePredicate Condition on the age column
+     * @return new table with matching records only
+     */
+    public PersonTable filterByAge(IntPredicate agePredicate) {
+        return select(indexesWhereAge(agePredicate));
+    }
+
+    /**
+     * @param indexes Records to copy, in the order they should appear
+     * @return new table with the selected records, copied as bytes without decoding
+     */
+    public PersonTable select(int[] indexes) {
+        Builder builder = new Builder(indexes.length);
+        for (int index : indexes) {
+            checkIndex(index);
+            builder.addEncoded(
+                    ages[index],
+                    (nulls[index] & NULL_NAME) != 0 ? null : names, nameOffsets[index], nameOffsets[index + 1],
+                    (nulls[index] & NULL_EMAIL) != 0 ? null : emails, emailOffsets[index], emailOffsets[index + 1]);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return "PersonTable{size=" + size + ", nameBytes=" + nameOffsets[size]
+                + ", emailBytes=" + emailOffsets[size] + "}";
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size + " people");
+        }
+    }
+
+    private String decode(byte[] data, int[] offsets, int index, byte nullFlag) {
+        if ((nulls[index] & nullFlag) != 0) {
+            return null;
+        }
+        return new String(data, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Check on a range of column bytes. The array is shared, so it must not be changed or kept.
+     */
+    public interface BytesPredicate {
+        boolean test(byte[] bytes, int from, int to);
+    }
+
+    /**
+     * Flyweight view of one table record. Can be moved to another record to avoid allocation in loops:
+     * <pre>
+     * PersonTable.Row row = table.row(0);
+     * for (int i = 0; i < table.size(); i++) {
+     *     row.moveTo(i);
+     *     ...
+     * }
+     * </pre>
+     */
+    public class Row {
+        private int index;
+
+        private Row() {
+        }
+
+        public Row moveTo(int index) {
+            checkIndex(index);
+            this.index = index;
+            return this;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getAge() {
+            return ages[index];
+        }
+
+        public String getName() {
+            return decode(names, nameOffsets, index, NULL_NAME);
+        }
+
+        public String getEmail() {
+            return decode(emails, emailOffsets, index, NULL_EMAIL);
+        }
+
+        /**
+         * @return new Person object with this record's values
+         */
+        public Person toPerson() {
+            return get(index);
+        }
+
+        @Override
+        public String toString() {
+            return "PersonTable.Row(name=" + getName() + ", age=" + getAge() + ", email=" + getEmail() + ")";
+        }
+    }
+
+    /**
+     * Collects people column by column. Not thread-safe.
+     */
+    public static class Builder {
+        private int size;
+        private int[] ages;
+        private int[] nameOffsets;
+        private byte[] names;
+        private int[] emailOffsets;
+        private byte[] emails;
+        private byte[] nulls;
+
+        public Builder() {
+            this(16);
+        }
+
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            ages = new int[capacity];
+            nulls = new byte[capacity];
+            nameOffsets = new int[capacity + 1];
+            emailOffsets = new int[capacity + 1];
+            names = new byte[capacity * 16];
+            emails = new byte[capacity * 24];
+        }
+
+        public Builder add(Person person) {
+            return add(person.getName(), person.getAge(), person.getEmail());
+        }
+
+        public Builder add(String name, int age, String email) {
+            byte[] nameBytes = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+            byte[] emailBytes = email == null ? null : email.getBytes(StandardCharsets.UTF_8);
+            return addEncoded(age, nameBytes, 0, nameBytes == null ? 0 : nameBytes.length,
+                    emailBytes, 0, emailBytes == null ? 0 : emailBytes.length);
+        }
+
+        /**
+         * Adds a record whose name and email are already UTF-8 encoded.
+         * A null array stores a null value; its range is ignored.
+         */
+        public Builder addEncoded(int age, byte[] name, int nameFrom, int nameTo,
+                                  byte[] email, int emailFrom, int emailTo) {
+            if (size == ages.length) {
+                int capacity = size * 2;
+                ages = Arrays.copyOf(ages, capacity);
+                nulls = Arrays.copyOf(nulls, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+                emailOffsets = Arrays.copyOf(emailOffsets, capacity + 1);
+            }
+
+            if (name == null) {
+                nameTo = nameFrom;
+            }
+            if (email == null) {
+                emailTo = emailFrom;
+            }
+            ages[size] = age;
+            nulls[size] = (byte) ((name == null ? NULL_NAME : 0) | (email == null ? NULL_EMAIL : 0));
+            names = append(names, nameOffsets[size], name, nameFrom, nameTo);
+            emails = append(emails, emailOffsets[size], email, emailFrom, emailTo);
+            nameOffsets[size + 1] = nameOffsets[size] + (nameTo - nameFrom);
+            emailOffsets[size + 1] = emailOffsets[size] + (emailTo - emailFrom);
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return table with trimmed arrays; the builder should not be used afterwards
+         */
+        public PersonTable build() {
+            return new PersonTable(size,
+                    Arrays.copyOf(ages, size),
+                    Arrays.copyOf(nameOffsets, size + 1),
+                    Arrays.copyOf(names, nameOffsets[size]),
+                    Arrays.copyOf(emailOffsets, size + 1),
+                    Arrays.copyOf(emails, emailOffsets[size]),
+                    Arrays.copyOf(nulls, size));
+        }
+
+        private static byte[] append(byte[] data, int length, byte[] value, int from, int to) {
+            int needed = length + (to - from);
+            if (needed > data.length) {
+                data = Arrays.copyOf(data, Math.max(needed, data.length * 2));
+            }
+            if (value == null) {
+                return data;
+            }
+            System.arraycopy(value, from, data, length, to - from);
+            return data;
+        }
+    }
+}
@@ -2,17 +2,40 @@ package com.lesson02.utils;
 
 
 import com.lesson02.models.Person;
+import com.lesson02.models.PersonTable;
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for reading test data from CSV files.
  */
 public class CSVReader {
 
+    // Smallest byte range worth handing to a separate task
+    private static final long MIN_CHUNK_SIZE = 64 * 1024;
+
     /**
      * Reads Person objects from a CSV file.
      *
@@ -26,33 +49,360 @@ public class CSVReader {
      * @throws IOException if file cannot be read
      */
     public static List<Person> readPersonsFromCSV(String filePath) throws IOException {
-        List<Person> persons = new ArrayList<>();
+        try (Stream<Person> persons = streamPersonsFromCSV(filePath)) {
+            return persons.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Lazily streams Person objects from a CSV file.
+     * Rows are parsed one by one while the stream is consumed, so only the current
+     * line is kept in memory. The stream must be closed (try-with-resources)
+     * unless it is consumed to the end, in which case the file is closed automatically.
+     *
+     * @param filePath Path to the CSV file
+     * @return Stream of Person objects in file order
+     * @throws IOException if file cannot be opened
+     */
+    public static Stream<Person> streamPersonsFromCSV(String filePath) throws IOException {
+        PersonIterator iterator = iteratePersonsFromCSV(filePath);
+        Spliterator<Person> spliterator = Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL);
 
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
+        return StreamSupport.stream(spliterator, false).onClose(iterator::closeUnchecked);
+    }
 
+    /**
+     * Opens a closeable iterator over Person objects in a CSV file.
+     * The file is closed as soon as the last row is returned or {@link PersonIterator#close()} is called.
+     *
+     * @param filePath Path to the CSV file
+     * @return Iterator of Person objects in file order
+     * @throws IOException if file cannot be opened
+     */
+    public static PersonIterator iteratePersonsFromCSV(String filePath) throws IOException {
+        BufferedReader br = new BufferedReader(new FileReader(filePath));
+        try {
             br.readLine(); // Skip header line
+        } catch (IOException e) {
+            br.close();
+            throw e;
+        }
+        return new PersonIterator(br);
+    }
+
+    /**
+     * Reads Person objects from a CSV file using the memory-mapped byte parser.
+     *
+     * Unlike {@link #readPersonsFromCSV(String)} this mode supports RFC 4180 quoted
+     * fields ("Doe, John",30,"john@example.com") and creates no temporary objects
+     * per row except the name and email Strings.
+     *
+     * @param filePath Path to the CSV file
+     * @return List of Person objects
+     * @throws IOException if file cannot be read
+     */
+    public static List<Person> readPersonsFromCSVMapped(String filePath) throws IOException {
+        List<Person> persons = new ArrayList<>();
+        forEachPersonMapped(filePath, persons::add);
+        return persons;
+    }
+
+    /**
+     * Parses a CSV file with the memory-mapped byte parser and passes every Person to the action.
+     *
+     * @param filePath Path to the CSV file
+     * @param action   Called for every row in file order
+     * @throws IOException if file cannot be read
+     */
+    public static void forEachPersonMapped(String filePath, Consumer<Person> action) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = MappedCSVParser.skipLine(channel, 0, size); // Skip header line
+            new MappedCSVParser().parse(channel, start, size, action);
+        }
+    }
+
+    /**
+     * Reads a CSV file straight into a columnar {@link PersonTable}.
+     * Name and email bytes are copied from the mapped file into the table without creating Strings.
+     *
+     * @param filePath Path to the CSV file
+     * @return Table with all rows in file order
+     * @throws IOException if file cannot be read
+     */
+    public static PersonTable readTableFromCSV(String filePath) throws IOException {
+        PersonTable.Builder table = PersonTable.builder();
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = MappedCSVParser.skipLine(channel, 0, size); // Skip header line
+            new MappedCSVParser().parse(channel, start, size, (name, nameLength, age, email, emailLength) ->
+                    table.addEncoded(age, name, 0, nameLength, email, 0, emailLength));
+        }
+        return table.build();
+    }
+
+    /**
+     * Reads only the people that match a query, using the memory-mapped byte parser.
+     *
+     * The age predicate is checked on the parsed int before any String is built,
+     * name and email Strings are created only when a condition or the projection needs them,
+     * and parsing stops as soon as the limit is reached.
+     *
+     * @param filePath Path to the CSV file
+     * @param query    Filter, projection and limit
+     * @return Matching people in file order
+     * @throws IOException if file cannot be read
+     */
+    public static List<Person> queryPersonsFromCSV(String filePath, PersonQuery query) throws IOException {
+        List<Person> persons = new ArrayList<>();
+        if (query.getLimit() == 0) {
+            return persons;
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = MappedCSVParser.skipLine(channel, 0, size); // Skip header line
+            MappedCSVParser parser = new MappedCSVParser();
+
+            parser.parse(channel, start, size, (name, nameLength, age, email, emailLength) -> {
+                if (!query.testAge(age)) {
+                    return; // Rejected before any String is built
+                }
+                String nameValue = query.needsName() ? new String(name, 0, nameLength, StandardCharsets.UTF_8) : null;
+                if (!query.testName(nameValue)) {
+                    return;
+                }
+                String emailValue = query.needsEmail() ? new String(email, 0, emailLength, StandardCharsets.UTF_8) : null;
+                if (!query.testEmail(emailValue)) {
+                    return;
+                }
+
+                persons.add(query.project(nameValue, age, emailValue));
+                if (persons.size() >= query.getLimit()) {
+                    parser.stop(); // Enough people - do not read the rest of the file
+                }
+            });
+        }
+        return persons;
+    }
 
-            // Read each data line
-            while ((line = br.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue; // Skip empty lines
+    /**
+     * Reads Person objects from a CSV file in parallel on all available cores, keeping file order.
+     *
+     * @param filePath Path to the CSV file
+     * @return List of Person objects in file order
+     * @throws IOException if file cannot be read
+     */
+    public static List<Person> readPersonsFromCSVParallel(String filePath) throws IOException {
+        return readPersonsFromCSVParallel(filePath, Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * Reads Person objects from a CSV file in parallel.
+     *
+     * The data part of the file (everything after the header line) is split into byte ranges
+     * aligned to line boundaries, and each range is parsed by the memory-mapped parser
+     * on a ForkJoinPool. Because ranges are aligned on '\n', quoted fields must not contain
+     * line breaks in this mode.
+     *
+     * @param filePath    Path to the CSV file
+     * @param parallelism Number of worker threads
+     * @param ordered     true to return people in file order, false to merge chunks as they finish
+     * @return List of Person objects
+     * @throws IOException if file cannot be read
+     */
+    public static List<Person> readPersonsFromCSVParallel(String filePath, int parallelism, boolean ordered)
+            throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = MappedCSVParser.skipLine(channel, 0, size); // Skip header line
+            long[] bounds = splitIntoChunks(channel, start, size, parallelism);
+            int chunks = bounds.length - 1;
+
+            if (chunks == 1) {
+                List<Person> persons = new ArrayList<>();
+                new MappedCSVParser().parse(channel, start, size, persons::add);
+                return persons;
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                CompletionService<List<Person>> completion = new ExecutorCompletionService<>(pool);
+                List<Future<List<Person>>> futures = new ArrayList<>(chunks);
+
+                for (int i = 0; i < chunks; i++) {
+                    long from = bounds[i];
+                    long to = bounds[i + 1];
+                    futures.add(completion.submit(() -> {
+                        List<Person> chunk = new ArrayList<>();
+                        new MappedCSVParser().parse(channel, from, to, chunk::add);
+                        return chunk;
+                    }));
+                }
+
+                List<Person> persons = new ArrayList<>();
+                for (int i = 0; i < chunks; i++) {
+                    Future<List<Person>> next = ordered ? futures.get(i) : completion.take();
+                    persons.addAll(next.get());
+                }
+                return persons;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading " + filePath, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
                 }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException("Failed to read " + filePath, cause);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
 
-                String[] parts = line.split(",");
+    /**
+     * Splits [start, end) into ranges that begin right after a '\n'.
+     *
+     * @return chunk boundaries, first is start and last is end
+     */
+    private static long[] splitIntoChunks(FileChannel channel, long start, long end, int parallelism)
+            throws IOException {
+        long bytes = end - start;
+        int chunks = (int) Math.max(1, Math.min(parallelism * 4L, bytes / MIN_CHUNK_SIZE));
+        long chunkSize = bytes / chunks;
 
-                if (parts.length >= 3) {
-                    Person person = Person.builder()
-                            .name(parts[0].trim()) //trim removes spaces
-                            .age(Integer.parseInt(parts[1].trim()))
-                            .email(parts[2].trim())
-                            .build();
+        List<Long> bounds = new ArrayList<>(chunks + 1);
+        bounds.add(start);
+        for (int i = 1; i < chunks; i++) {
+            long previous = bounds.get(bounds.size() - 1);
+            long target = Math.max(start + i * chunkSize, previous + 1);
+            long aligned = MappedCSVParser.skipLine(channel, target - 1, end);
+            if (aligned > previous && aligned < end) {
+                bounds.add(aligned);
+            }
+        }
+        bounds.add(end);
 
-                    persons.add(person);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Parses a single CSV data line.
+     *
+     * @param line CSV line without line terminator
+     * @return Person, or null if the line is empty or has less than 3 columns
+     */
+    static Person parsePerson(String line) {
+        if (line.trim().isEmpty()) {
+            return null; // Skip empty lines
+        }
+
+        String[] parts = line.split(",");
+
+        if (parts.length < 3) {
+            return null;
+        }
+
+        return Person.builder()
+                .name(parts[0].trim()) //trim removes spaces
+                .age(Integer.parseInt(parts[1].trim()))
+                .email(parts[2].trim())
+                .build();
+    }
+
+    /**
+     * Iterator that reads and parses CSV rows on demand.
+     */
+    public static class PersonIterator implements Iterator<Person>, Closeable {
+        private final BufferedReader reader;
+        private Person next;
+        private boolean closed;
+
+        private PersonIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    next = parsePerson(line);
+                    if (next != null) {
+                        return true;
+                    }
                 }
+                close(); // End of file - release it right away
+                return false;
+            } catch (IOException e) {
+                closeQuietly(e);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                closeQuietly(e); // Bad row, e.g. an age that is not a number
+                throw e;
             }
         }
 
-        return persons;
+        @Override
+        public Person next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Person person = next;
+            next = null;
+            return person;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                reader.close();
+            }
+        }
+
+        /**
+         * Closes the file for {@link Stream#onClose(Runnable)}.
+         *
+         * @throws UncheckedIOException if the file cannot be closed
+         */
+        void closeUnchecked() {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Closes the file after a failure; a close error is added to it as suppressed
+         * instead of replacing it.
+         */
+        private void closeQuietly(Exception primary) {
+            try {
+                close();
+            } catch (IOException e) {
+                primary.addSuppressed(e);
+            }
+        }
     }
-}
\ No newline at end of file
+}
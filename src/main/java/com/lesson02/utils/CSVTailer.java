@@ -0,0 +1,322 @@
+package com.lesson02.utils;
+
+import com.lesson02.PersonStats;
+import com.lesson02.models.Person;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows an append-only CSV file and keeps aggregates up to date without re-reading it.
+ *
+ * The tailer remembers the byte offset after the last complete row, so every
+ * {@link #poll()} parses only rows appended since the previous one. A row is taken
+ * once its line break has been written; a half-written last line waits for the next poll.
+ * Every new person goes into the built-in {@link PersonStats} (count, average, min/max,
+ * age histogram) and to the registered listeners. A row that cannot be parsed (e.g. the age
+ * is not a number) is skipped and reported to the listeners, so one bad row never blocks
+ * the rows after it.
+ *
+ * If the file is truncated, rewritten or replaced by a new file (log rotation), the offset,
+ * the stats and the listeners are reset and the new file is read from the start.
+ * {@link #awaitChanges(long, TimeUnit)} and {@link #run()} use a WatchService on the parent
+ * directory to wait for changes instead of polling in a loop. Usage:
+ * <pre>
+ * try (CSVTailer tailer = CSVTailer.open("people.csv")) {
+ *     tailer.poll();
+ *     while (running) {
+ *         tailer.awaitChanges(1, TimeUnit.SECONDS);
+ *         System.out.println(tailer.getStats());
+ *     }
+ * }
+ * </pre>
+ */
+public class CSVTailer implements Runnable, Closeable {
+
+    // Bytes at the start of the file compared on every poll to notice a rewritten file
+    private static final int HEAD_SIZE = 256;
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+    private static final byte LF = '\n';
+
+    /**
+     * Incremental aggregate fed by the tailer.
+     */
+    public interface Listener {
+
+        /**
+         * Called for every newly appended person, in file order.
+         */
+        void accept(Person person);
+
+        /**
+         * Called when the file was truncated or rotated; everything seen so far has to be forgotten.
+         */
+        void reset();
+
+        /**
+         * Called for a row that cannot be parsed and is skipped. Does nothing by default.
+         *
+         * @param position File position of the row
+         * @param error    Why the row was skipped
+         */
+        default void skipped(long position, RuntimeException error) {
+        }
+    }
+
+    private final Path path;
+    private final WatchService watchService;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final MappedCSVParser parser = new MappedCSVParser();
+
+    private long offset;
+    private Object fileIdentity;
+    private byte[] head = new byte[0];
+    private PersonStats stats = new PersonStats();
+    private long resets;
+    private long skipped;
+    private volatile boolean closed;
+
+    private CSVTailer(Path path, WatchService watchService) {
+        this.path = path;
+        this.watchService = watchService;
+        parser.onBadRecord((position, error) -> {
+            skipped++;
+            for (Listener listener : listeners) {
+                listener.skipped(position, error);
+            }
+        });
+    }
+
+    /**
+     * Starts following a CSV file. Nothing is read until the first {@link #poll()}.
+     * The file itself does not have to exist yet, its directory does.
+     *
+     * @param filePath Path to the CSV file
+     * @return tailer that must be closed
+     * @throws IOException if the directory cannot be watched
+     */
+    public static CSVTailer open(String filePath) throws IOException {
+        Path path = Paths.get(filePath).toAbsolutePath();
+        WatchService watchService = path.getFileSystem().newWatchService();
+        try {
+            path.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+        return new CSVTailer(path, watchService);
+    }
+
+    /**
+     * Registers an aggregate. It only receives people read after registration.
+     *
+     * @return this
+     */
+    public CSVTailer addListener(Listener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Reads rows appended since the last poll.
+     *
+     * @return number of new people, 0 if nothing changed or the file does not exist right now
+     * @throws IOException if file cannot be read
+     */
+    public synchronized int poll() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Tailer is closed");
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return 0; // Rotated away, the new file has not been created yet
+        }
+        Object identity = attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (offset > 0 && (!identity.equals(fileIdentity) || size < offset || !headMatches(channel))) {
+                reset(); // Truncated, rewritten or rotated - start over with the new content
+            }
+            fileIdentity = identity;
+
+            long start = offset;
+            if (start == 0) {
+                start = MappedCSVParser.skipLine(channel, 0, size); // Skip header line
+                if (start == 0 || readByte(channel, start - 1) != LF) {
+                    return 0; // Header is not complete yet
+                }
+            }
+
+            long end = lastLineEnd(channel, start, size);
+            int[] added = {0};
+            if (end > start) {
+                parser.parse(channel, start, end, person -> {
+                    stats.accept(person);
+                    for (Listener listener : listeners) {
+                        listener.accept(person);
+                    }
+                    added[0]++;
+                });
+            }
+
+            offset = end;
+            rememberHead(channel);
+            return added[0];
+        }
+    }
+
+    /**
+     * Waits until something changes in the file's directory (or the timeout passes) and polls.
+     *
+     * @return number of new people
+     * @throws IOException          if file cannot be read
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public int awaitChanges(long timeout, TimeUnit unit) throws IOException, InterruptedException {
+        WatchKey key = watchService.poll(timeout, unit);
+        if (key != null) {
+            key.pollEvents(); // Events of other files are dropped too, poll() checks our file anyway
+            key.reset();
+        }
+        return poll();
+    }
+
+    /**
+     * Keeps polling on every change until the tailer is closed or the thread is interrupted.
+     * Meant to be run on a separate thread.
+     */
+    @Override
+    public void run() {
+        try {
+            while (!closed) {
+                awaitChanges(1, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IllegalStateException e) {
+            // Closed from another thread (ClosedWatchServiceException is an IllegalStateException too)
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return copy of the stats of everybody read since the start or the last reset
+     */
+    public synchronized PersonStats getStats() {
+        return new PersonStats().combine(stats);
+    }
+
+    /**
+     * @return byte position after the last complete row read
+     */
+    public synchronized long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return how many times the file was truncated or rotated
+     */
+    public synchronized long getResets() {
+        return resets;
+    }
+
+    /**
+     * @return how many bad rows were skipped since the tailer was opened
+     */
+    public synchronized long getSkipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watchService.close();
+    }
+
+    private void reset() {
+        offset = 0;
+        head = new byte[0];
+        stats = new PersonStats();
+        resets++;
+        for (Listener listener : listeners) {
+            listener.reset();
+        }
+    }
+
+    private boolean headMatches(FileChannel channel) throws IOException {
+        return Arrays.equals(head, readHead(channel, head.length));
+    }
+
+    private void rememberHead(FileChannel channel) throws IOException {
+        int length = (int) Math.min(HEAD_SIZE, offset);
+        if (head.length != length) {
+            head = readHead(channel, length);
+        }
+    }
+
+    private static byte[] readHead(FileChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.position() == length ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private static byte readByte(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        return channel.read(buffer, position) == 1 ? buffer.get(0) : 0;
+    }
+
+    /**
+     * @return position after the last '\n' between from and to, or from if there is none
+     */
+    private static long lastLineEnd(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long end = to;
+
+        while (end > from) {
+            int length = (int) Math.min(buffer.capacity(), end - from);
+            long start = end - length;
+            buffer.clear();
+            buffer.limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    return from; // File shrank while reading, the next poll resets
+                }
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer.get(i) == LF) {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return from;
+    }
+}
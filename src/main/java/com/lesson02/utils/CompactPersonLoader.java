@@ -0,0 +1,120 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.CompactPerson;
+import com.lesson02.models.Person;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads people in the memory-saving {@link CompactPerson} form.
+ *
+ * Every loader has its own canonicalization table of email domains: the first
+ * occurrence of a domain is kept and later people point to the same String.
+ * Unlike {@link String#intern()} the table is dropped together with the loader,
+ * so the domains of a test run do not stay in the JVM forever. Email local parts
+ * that fit into Latin-1 are always kept as byte[], names only with {@code latin1Names}.
+ * Use one loader per data set; it can be used from several threads.
+ */
+public class CompactPersonLoader {
+
+    private final boolean latin1Names;
+    private final ConcurrentHashMap<String, String> domains = new ConcurrentHashMap<>();
+
+    public CompactPersonLoader() {
+        this(false);
+    }
+
+    /**
+     * @param latin1Names Keep Latin-1 names as byte[] instead of String
+     */
+    public CompactPersonLoader(boolean latin1Names) {
+        this.latin1Names = latin1Names;
+    }
+
+    /**
+     * Reads a file of any format known to {@link PersonSources} in compact form.
+     * Only the compact people stay in memory, Person objects are dropped one by one.
+     *
+     * @param filePath Path to the file
+     * @return compact people in file order
+     * @throws IOException if file cannot be read
+     */
+    public List<CompactPerson> load(String filePath) throws IOException {
+        try (Stream<Person> persons = PersonSources.stream(filePath)) {
+            return compact(persons);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public List<CompactPerson> compact(Collection<Person> persons) {
+        List<CompactPerson> result = new ArrayList<>(persons.size());
+        for (Person person : persons) {
+            result.add(compact(person));
+        }
+        return result;
+    }
+
+    public List<CompactPerson> compact(Stream<Person> persons) {
+        return persons.map(this::compact).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    public CompactPerson compact(Person person) {
+        String email = person.getEmail();
+        String local = email;
+        String domain = null;
+
+        if (email != null) {
+            int at = email.lastIndexOf('@');
+            if (at >= 0) {
+                local = email.substring(0, at);
+                domain = canonicalDomain(email.substring(at + 1));
+            }
+        }
+        return CompactPerson.of(person.getName(), person.getAge(), local, domain, latin1Names);
+    }
+
+    /**
+     * @return the shared instance of an email domain, the given one if it is new
+     */
+    public String canonicalDomain(String domain) {
+        String canonical = domains.putIfAbsent(domain, domain);
+        return canonical == null ? domain : canonical;
+    }
+
+    /**
+     * @return number of different domains seen by this loader
+     */
+    public int getDomainCount() {
+        return domains.size();
+    }
+
+    /**
+     * Estimated heap bytes of the domain table, shared by all people of this loader.
+     */
+    public long getDomainTableBytes() {
+        long bytes = 64 + 16L * domains.size(); // Map object and its bucket array
+        for (String domain : domains.keySet()) {
+            bytes += 32 + FootprintReport.stringBytes(domain); // Node and one String
+        }
+        return bytes;
+    }
+
+    /**
+     * Compares the estimated heap size of people before and after compaction.
+     *
+     * @param persons Original people
+     * @param compact Same people compacted by this loader
+     */
+    public FootprintReport footprint(List<Person> persons, List<CompactPerson> compact) {
+        return new FootprintReport(persons.size(), PersonCache.estimateBytes(persons),
+                FootprintReport.estimateCompactBytes(compact) + getDomainTableBytes());
+    }
+}
@@ -0,0 +1,25 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.PersonTable;
+import com.week01.EmailBatchValidator;
+import com.week01.EmailValidator;
+
+/**
+ * Validates the email column of a {@link PersonTable} with the week 1 batch validator.
+ */
+public final class EmailColumnValidator {
+
+    private EmailColumnValidator() {
+    }
+
+    /**
+     * Checks every email in parallel straight on its UTF-8 bytes, nothing is decoded.
+     * A null email is not valid.
+     *
+     * @param table People to check
+     * @return bitmap of rows with a valid email plus counts
+     */
+    public static EmailBatchValidator.Result validate(PersonTable table) {
+        return EmailBatchValidator.validate(table.size(), i -> table.testEmailBytes(i, EmailValidator::isValid));
+    }
+}
@@ -0,0 +1,88 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.CompactPerson;
+
+import java.util.List;
+
+/**
+ * Estimated heap size of a data set before and after compact loading, to size heaps
+ * for big files: bytes per record times the number of records.
+ *
+ * Estimates assume a 64-bit JVM with compressed references and compact (Latin-1)
+ * strings, the same model as the {@link PersonCache} memory budget.
+ */
+public class FootprintReport {
+
+    private final long records;
+    private final long bytesBefore;
+    private final long bytesAfter;
+
+    FootprintReport(long records, long bytesBefore, long bytesAfter) {
+        this.records = records;
+        this.bytesBefore = bytesBefore;
+        this.bytesAfter = bytesAfter;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getBytesBefore() {
+        return bytesBefore;
+    }
+
+    public long getBytesAfter() {
+        return bytesAfter;
+    }
+
+    public double getBytesPerRecordBefore() {
+        return records == 0 ? 0 : (double) bytesBefore / records;
+    }
+
+    public double getBytesPerRecordAfter() {
+        return records == 0 ? 0 : (double) bytesAfter / records;
+    }
+
+    /**
+     * @return part of the memory saved, e.g. 0.4 for 40%
+     */
+    public double getSavedRatio() {
+        return bytesBefore == 0 ? 0 : 1 - (double) bytesAfter / bytesBefore;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FootprintReport{records=%d, before=%d bytes (%.1f per record), "
+                        + "after=%d bytes (%.1f per record), saved=%.1f%%}",
+                records, bytesBefore, getBytesPerRecordBefore(),
+                bytesAfter, getBytesPerRecordAfter(), getSavedRatio() * 100);
+    }
+
+    /**
+     * Rough heap size of compact people without the shared domain table: CompactPerson
+     * object, name and local part (bytes or String) and a reference in the list.
+     */
+    static long estimateCompactBytes(List<CompactPerson> persons) {
+        long bytes = 16;
+        for (CompactPerson person : persons) {
+            bytes += 32 + 8
+                    + textBytes(person.hasLatin1Name(), person.getNameLength(), person.hasName())
+                    + textBytes(person.hasLatin1EmailLocal(), person.getEmailLocalLength(), person.hasEmail());
+        }
+        return bytes;
+    }
+
+    static long stringBytes(String value) {
+        return value == null ? 0 : 24 + 16 + value.length();
+    }
+
+    /**
+     * Latin-1 text is a bare byte[], other text a String with its own array.
+     */
+    private static long textBytes(boolean latin1, int length, boolean present) {
+        if (latin1) {
+            return 16 + length;
+        }
+        return present ? 24 + 16 + length : 0;
+    }
+}
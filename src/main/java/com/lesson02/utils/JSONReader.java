@@ -1,14 +1,31 @@
 package com.lesson02.utils;
 
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.lesson02.models.Person;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JSONReader {
+
+    // ObjectMapper is expensive to create, ObjectReader is immutable and thread-safe - share them
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader PERSON_READER = MAPPER.readerFor(Person.class);
+    private static final ObjectReader PERSON_LIST_READER = MAPPER.readerFor(new TypeReference<List<Person>>() {});
+
     /**
      * Reads Person objects from a JSON file. I Use Jackson reader =)
      *
@@ -22,11 +39,195 @@ public class JSONReader {
      * @throws IOException if file cannot be read
      */
     public static List<Person> readPersonsFromJSON(String filePath) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        return mapper.readValue(
-                new File(filePath),
-                new TypeReference<List<Person>>() {}
-        );
+        return PERSON_LIST_READER.readValue(new File(filePath));
     }
-}
 
+    /**
+     * Lazily streams Person objects from a JSON file.
+     *
+     * The top-level array is walked token by token with Jackson's streaming parser and
+     * each element is bound by a shared ObjectReader, so only one Person is in memory at a time.
+     * The stream must be closed (try-with-resources) to release the file.
+     *
+     * Expected JSON format:
+     * [
+     *   {"name": "John Doe", "age": 30, "email": "john@example.com"},
+     *   {"name": "Jane Smith", "age": 25, "email": "jane@example.com"}
+     * ]
+     *
+     * @param filePath Path to the JSON file
+     * @return Stream of Person objects in file order; an element that is not a Person object
+     * fails the stream with UncheckedIOException
+     * @throws IOException if file cannot be opened or does not start with an array
+     */
+    public static Stream<Person> streamPersonsFromJSON(String filePath) throws IOException {
+        JsonParser parser = MAPPER.getFactory().createParser(new File(filePath));
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array in " + filePath);
+            }
+        } catch (IOException e) {
+            parser.close();
+            throw e;
+        }
+
+        Spliterator<Person> spliterator = new Spliterators.AbstractSpliterator<Person>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private boolean done; // END_ARRAY seen, the parser must not be advanced again
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Person> action) {
+                if (done) {
+                    return false;
+                }
+                Person person;
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.END_ARRAY) {
+                        done = true;
+                        return false;
+                    }
+                    if (token != JsonToken.START_OBJECT) {
+                        throw new IOException("Expected a JSON object in " + filePath
+                                + " at " + parser.getCurrentLocation() + ", found " + token);
+                    }
+                    person = PERSON_READER.readValue(parser);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                action.accept(person);
+                return true;
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Reads only the people that match a query, walking the JSON tokens directly.
+     *
+     * Name and email characters are kept in reusable buffers until the age predicate passes,
+     * so rejected people cost no Strings, and reading stops once the limit is reached.
+     *
+     * @param filePath Path to the JSON file with a top-level array
+     * @param query    Filter, projection and limit
+     * @return Matching people in file order
+     * @throws IOException if file cannot be read, does not start with an array, has an element
+     * that is not an object or a person whose age is missing or not an int
+     */
+    public static List<Person> queryPersonsFromJSON(String filePath, PersonQuery query) throws IOException {
+        List<Person> persons = new ArrayList<>();
+        if (query.getLimit() == 0) {
+            return persons;
+        }
+
+        try (JsonParser parser = MAPPER.getFactory().createParser(new File(filePath))) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array in " + filePath);
+            }
+
+            TextBuffer name = new TextBuffer();
+            TextBuffer email = new TextBuffer();
+
+            while (persons.size() < query.getLimit()) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY) {
+                    break;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a JSON object in " + filePath
+                            + " at " + parser.getCurrentLocation() + ", found " + token);
+                }
+                name.clear();
+                email.clear();
+                JsonLocation start = parser.getTokenLocation();
+                int age = 0;
+                boolean hasAge = false;
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName(); // Canonical (shared) String, not a new one
+                    parser.nextToken();
+
+                    switch (field) {
+                        case "name":
+                            name.copyFrom(parser);
+                            break;
+                        case "age":
+                            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT
+                                    || parser.getNumberType() != JsonParser.NumberType.INT) {
+                                throw new IOException("Expected an int age in " + filePath
+                                        + " at " + parser.getTokenLocation() + ", found " + parser.getText());
+                            }
+                            age = parser.getIntValue();
+                            hasAge = true;
+                            break;
+                        case "email":
+                            email.copyFrom(parser);
+                            break;
+                        default:
+                            parser.skipChildren(); // Unknown field, may be an object or array
+                            break;
+                    }
+                }
+                if (!hasAge) {
+                    throw new IOException("Expected an int age in " + filePath + " at " + start + ", found none");
+                }
+
+                if (!query.testAge(age)) {
+                    continue;
+                }
+                String nameValue = query.needsName() ? name.toString() : null;
+                if (!query.testName(nameValue)) {
+                    continue;
+                }
+                String emailValue = query.needsEmail() ? email.toString() : null;
+                if (!query.testEmail(emailValue)) {
+                    continue;
+                }
+                persons.add(query.project(nameValue, age, emailValue));
+            }
+        }
+        return persons;
+    }
+
+    /**
+     * Reusable copy of a JSON string value, null for JSON null or a missing field.
+     */
+    private static class TextBuffer {
+        private char[] chars = new char[64];
+        private int length = -1;
+
+        void clear() {
+            length = -1;
+        }
+
+        void copyFrom(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                length = -1;
+                return;
+            }
+            if (!parser.currentToken().isScalarValue()) {
+                parser.skipChildren();
+                length = -1;
+                return;
+            }
+            int textLength = parser.getTextLength();
+            if (textLength > chars.length) {
+                chars = new char[Math.max(textLength, chars.length * 2)];
+            }
+            System.arraycopy(parser.getTextCharacters(), parser.getTextOffset(), chars, 0, textLength);
+            length = textLength;
+        }
+
+        @Override
+        public String toString() {
+            return length < 0 ? null : new String(chars, 0, length);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.Person;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Byte-level CSV parser over a memory-mapped file.
+ *
+ * Delimiters are found byte by byte, age is parsed straight from the bytes and
+ * Strings are only created for name and email. Quoted fields follow RFC 4180:
+ * they may contain commas, line breaks and escaped quotes ("").
+ *
+ * Big files are mapped window by window, so one record must fit into a window.
+ * An instance keeps scratch buffers and is NOT thread-safe - use one per thread.
+ */
+final class MappedCSVParser {
+
+    static final long DEFAULT_WINDOW = 64L * 1024 * 1024; // 64 MB
+
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private final long window;
+    private boolean stopped;
+    private BadRecordHandler badRecordHandler;
+    private long windowStart; // File position of the mapped window
+
+    private byte[] scratch = new byte[128];
+    private int scratchLength;
+
+    // Current record state, name and email buffers are swapped with scratch instead of copied
+    private int fieldCount;
+    private byte[] name = new byte[128];
+    private int nameLength;
+    private int age;
+    private String badAge;
+    private byte[] email = new byte[128];
+    private int emailLength;
+
+    /**
+     * Receives raw records. The byte arrays are reused for the next record,
+     * so copy what has to be kept.
+     */
+    interface RecordSink {
+        void accept(byte[] name, int nameLength, int age, byte[] email, int emailLength);
+    }
+
+    /**
+     * Receives records that cannot be parsed, e.g. with an age that is not a number.
+     */
+    interface BadRecordHandler {
+
+        /**
+         * @param position File position of the first byte of the record
+         * @param error    Why the record was rejected
+         */
+        void reject(long position, RuntimeException error);
+    }
+
+    MappedCSVParser() {
+        this(DEFAULT_WINDOW);
+    }
+
+    MappedCSVParser(long window) {
+        if (window <= 0 || window > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window must be between 1 and " + Integer.MAX_VALUE + " bytes");
+        }
+        this.window = window;
+    }
+
+    /**
+     * Makes the parser skip bad records and report them to the handler instead of
+     * throwing and stopping at the first one.
+     */
+    void onBadRecord(BadRecordHandler handler) {
+        this.badRecordHandler = handler;
+    }
+
+    /**
+     * Parses all records between two byte positions.
+     * The range must start at the beginning of a record and end at the end of one.
+     *
+     * @param channel Open file channel
+     * @param from    First byte of the range
+     * @param to      Byte after the last one of the range
+     * @param sink    Receives every parsed Person in file order
+     * @throws IOException if the file cannot be mapped or a record does not fit into a window
+     */
+    void parse(FileChannel channel, long from, long to, Consumer<Person> sink) throws IOException {
+        parse(channel, from, to, (name, nameLength, age, email, emailLength) -> sink.accept(Person.builder()
+                .name(toString(name, nameLength))
+                .age(age)
+                .email(toString(email, emailLength))
+                .build()));
+    }
+
+    /**
+     * Same as {@link #parse(FileChannel, long, long, Consumer)}, but hands over UTF-8 bytes
+     * of name and email instead of Strings.
+     */
+    void parse(FileChannel channel, long from, long to, RecordSink sink) throws IOException {
+        long position = from;
+
+        while (position < to && !stopped) {
+            long length = Math.min(window, to - position);
+            boolean last = position + length == to;
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            windowStart = position;
+
+            int consumed = parseBuffer(buffer, (int) length, last, sink);
+            if (consumed == 0 && !stopped) {
+                throw new IOException("CSV record at byte " + position
+                        + " does not fit into the mapping window of " + window + " bytes");
+            }
+            position += consumed;
+        }
+    }
+
+    /**
+     * Asks the parser to stop after the current record, e.g. when a sink has enough records.
+     * The rest of the file is not read.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Finds the first byte after the line that contains the given position.
+     *
+     * @return position after the next '\n', or {@code to} if there is none
+     */
+    static long skipLine(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+        long position = from;
+
+        while (position < to) {
+            buffer.clear();
+            if (to - position < buffer.capacity()) {
+                buffer.limit((int) (to - position));
+            }
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == LF) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return to;
+    }
+
+    /**
+     * @return number of bytes taken by complete records
+     */
+    private int parseBuffer(ByteBuffer buffer, int limit, boolean last, RecordSink sink) {
+        int position = 0;
+
+        while (position < limit && !stopped) {
+            int next = parseRecord(buffer, position, limit, last, sink);
+            if (next < 0) {
+                break; // Record continues in the next window
+            }
+            position = next;
+        }
+        return position;
+    }
+
+    /**
+     * @return position after the record, or -1 if the record is not complete in this window
+     */
+    private int parseRecord(ByteBuffer buffer, int start, int limit, boolean last, RecordSink sink) {
+        fieldCount = 0;
+        nameLength = 0;
+        age = 0;
+        badAge = null;
+        emailLength = 0;
+
+        boolean blank = true;
+        int p = start;
+
+        while (true) {
+            p = skipSpaces(buffer, p, limit);
+            scratchLength = 0;
+
+            if (p < limit && buffer.get(p) == QUOTE) {
+                blank = false;
+                p = readQuoted(buffer, p + 1, limit, last);
+                if (p < 0) {
+                    return -1;
+                }
+                while (p < limit && !isDelimiter(buffer.get(p))) {
+                    p++; // Ignore anything between the closing quote and the delimiter
+                }
+            } else {
+                int fieldStart = p;
+                while (p < limit && !isDelimiter(buffer.get(p))) {
+                    p++;
+                }
+                int fieldEnd = p;
+                while (fieldEnd > fieldStart && isSpace(buffer.get(fieldEnd - 1))) {
+                    fieldEnd--;
+                }
+                for (int i = fieldStart; i < fieldEnd; i++) {
+                    append(buffer.get(i));
+                }
+                if (fieldEnd > fieldStart) {
+                    blank = false;
+                }
+            }
+
+            if (p >= limit && !last) {
+                return -1;
+            }
+
+            acceptField();
+
+            if (p < limit && buffer.get(p) == COMMA) {
+                blank = false;
+                p++;
+                continue;
+            }
+            break;
+        }
+
+        if (p < limit && buffer.get(p) == CR) {
+            p++;
+        }
+        if (p < limit && buffer.get(p) == LF) {
+            p++;
+        }
+
+        if (!blank && fieldCount >= 3) {
+            if (badAge == null) {
+                sink.accept(name, nameLength, age, email, emailLength);
+                return p;
+            }
+            NumberFormatException error = new NumberFormatException("For input string: \"" + badAge + "\"");
+            if (badRecordHandler == null) {
+                throw error;
+            }
+            badRecordHandler.reject(windowStart + start, error);
+        }
+        return p;
+    }
+
+    /**
+     * Copies a quoted field into the scratch buffer.
+     *
+     * @param p position right after the opening quote
+     * @return position after the closing quote, or -1 if the field is not complete in this window
+     */
+    private int readQuoted(ByteBuffer buffer, int p, int limit, boolean last) {
+        while (p < limit) {
+            byte b = buffer.get(p);
+            if (b == QUOTE) {
+                if (p + 1 >= limit) {
+                    return last ? p + 1 : -1;
+                }
+                if (buffer.get(p + 1) != QUOTE) {
+                    return p + 1;
+                }
+                p++; // Escaped quote ""
+            }
+            append(b);
+            p++;
+        }
+        return last ? p : -1; // Unterminated quote at the end of file
+    }
+
+    private void acceptField() {
+        switch (fieldCount) {
+            case 0:
+                byte[] nameBuffer = name;
+                name = scratch;
+                nameLength = scratchLength;
+                scratch = nameBuffer;
+                break;
+            case 1:
+                parseAge();
+                break;
+            case 2:
+                byte[] emailBuffer = email;
+                email = scratch;
+                emailLength = scratchLength;
+                scratch = emailBuffer;
+                break;
+            default:
+                break; // Extra columns are ignored
+        }
+        fieldCount++;
+    }
+
+    private void parseAge() {
+        int from = 0;
+        int to = scratchLength;
+        while (from < to && isSpace(scratch[from])) {
+            from++;
+        }
+        while (to > from && isSpace(scratch[to - 1])) {
+            to--;
+        }
+
+        boolean negative = false;
+        int i = from;
+        if (i < to && (scratch[i] == '-' || scratch[i] == '+')) {
+            negative = scratch[i] == '-';
+            i++;
+        }
+
+        long value = 0;
+        boolean valid = i < to;
+        for (; i < to && valid; i++) {
+            int digit = scratch[i] - '0';
+            if (digit < 0 || digit > 9) {
+                valid = false;
+            } else {
+                value = value * 10 + digit;
+                valid = value <= (long) Integer.MAX_VALUE + 1;
+            }
+        }
+
+        if (negative) {
+            value = -value;
+        }
+        if (valid && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            age = (int) value;
+        } else {
+            badAge = new String(scratch, from, to - from, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String toString(byte[] bytes, int length) {
+        return length == 0 ? "" : new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void append(byte b) {
+        if (scratchLength == scratch.length) {
+            byte[] bigger = new byte[scratch.length * 2];
+            System.arraycopy(scratch, 0, bigger, 0, scratchLength);
+            scratch = bigger;
+        }
+        scratch[scratchLength++] = b;
+    }
+
+    private static int skipSpaces(ByteBuffer buffer, int p, int limit) {
+        while (p < limit && isSpace(buffer.get(p))) {
+            p++;
+        }
+        return p;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == COMMA || b == LF || b == CR;
+    }
+}
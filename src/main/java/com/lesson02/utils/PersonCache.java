@@ -0,0 +1,213 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.Person;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of parsed people files shared between tests and data providers.
+ *
+ * Entries are keyed by the canonical file path and remember the file size and
+ * modification time; if either changes the file is parsed again. Person objects are
+ * mutable, so every call returns new copies of the cached people (the Strings are shared):
+ * a caller that changes a person never affects other callers. Returned lists are immutable,
+ * copy them before sorting or adding people.
+ * Least recently used entries are evicted when the estimated heap size of all
+ * cached people goes over the memory budget.
+ */
+public class PersonCache {
+
+    // Default budget of the shared cache
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final PersonCache SHARED = new PersonCache(DEFAULT_MAX_BYTES);
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxBytes Memory budget for cached people, estimated heap bytes
+     */
+    public PersonCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return cache shared by the whole JVM
+     */
+    public static PersonCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the people of a file, parsing it only if it is not cached or has changed.
+     *
+     * @param filePath Path to a file of any format known to {@link PersonSources}
+     * @return Immutable list of new Person objects in file order, owned by the caller
+     * @throws IOException if file cannot be read
+     */
+    public List<Person> get(String filePath) throws IOException {
+        Path path = Paths.get(filePath).toRealPath();
+        String key = path.toString();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.size == size && entry.modified == modified) {
+                    hits.incrementAndGet();
+                    return copyOf(entry.persons);
+                }
+                remove(key); // File has changed
+            }
+        }
+
+        misses.incrementAndGet();
+        List<Person> persons = PersonSources.read(key);
+        Entry entry = new Entry(copyOf(persons), size, modified, estimateBytes(persons));
+
+        synchronized (this) {
+            if (entry.bytes <= maxBytes) {
+                Entry previous = entries.put(key, entry);
+                if (previous != null) {
+                    totalBytes -= previous.bytes;
+                }
+                totalBytes += entry.bytes;
+                evictOverBudget();
+            }
+        }
+        return Collections.unmodifiableList(persons);
+    }
+
+    /**
+     * @return immutable list of copies, so callers never share a Person object with the cache
+     */
+    private static List<Person> copyOf(List<Person> persons) {
+        List<Person> copies = new ArrayList<>(persons.size());
+        for (Person person : persons) {
+            copies.add(new Person(person.getName(), person.getAge(), person.getEmail()));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    /**
+     * Drops a file from the cache.
+     *
+     * @param filePath Path to the file
+     * @throws IOException if the path cannot be resolved
+     */
+    public synchronized void invalidate(String filePath) throws IOException {
+        remove(Paths.get(filePath).toRealPath().toString());
+    }
+
+    /**
+     * Drops all files and resets the counters.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return number of cached files
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return estimated heap bytes taken by cached people
+     */
+    public synchronized long getEstimatedBytes() {
+        return totalBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "PersonCache{files=" + size() + ", bytes=" + getEstimatedBytes() + "/" + maxBytes
+                + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + "}";
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().bytes;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Rough heap size of a list of people: Person object, two Strings with their
+     * arrays (Latin-1 compact strings) and a reference in the list.
+     */
+    static long estimateBytes(List<Person> persons) {
+        long bytes = 16;
+        for (Person person : persons) {
+            bytes += 24 + 8 + FootprintReport.stringBytes(person.getName())
+                    + FootprintReport.stringBytes(person.getEmail());
+        }
+        return bytes;
+    }
+
+    private static class Entry {
+        private final List<Person> persons;
+        private final long size;
+        private final long modified;
+        private final long bytes;
+
+        private Entry(List<Person> persons, long size, long modified, long bytes) {
+            this.persons = persons;
+            this.size = size;
+            this.modified = modified;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.Person;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Loads people from several files of any registered format at the same time.
+ */
+public class PersonLoader {
+
+    /**
+     * Reads all files concurrently and merges the people in the order the files are given.
+     *
+     * @param filePaths Paths to the files, format is picked by {@link PersonSources}
+     * @return List of Person objects, file by file
+     * @throws IOException if any file cannot be read
+     */
+    public static List<Person> loadAll(String... filePaths) throws IOException {
+        return loadAll(Arrays.asList(filePaths));
+    }
+
+    /**
+     * Reads all files concurrently and merges the people in the order the files are given.
+     * Uses one thread per file, but not more than the number of cores.
+     *
+     * @param filePaths Paths to the files, format is picked by {@link PersonSources}
+     * @return List of Person objects, file by file
+     * @throws IOException if any file cannot be read
+     */
+    public static List<Person> loadAll(List<String> filePaths) throws IOException {
+        int parallelism = Math.min(filePaths.size(), Runtime.getRuntime().availableProcessors());
+        return loadAll(filePaths, parallelism);
+    }
+
+    /**
+     * Reads all files with the given number of threads and merges the people in the order the files are given.
+     *
+     * @param filePaths   Paths to the files, format is picked by {@link PersonSources}
+     * @param parallelism Number of files read at the same time
+     * @return List of Person objects, file by file
+     * @throws IOException if any file cannot be read
+     */
+    public static List<Person> loadAll(List<String> filePaths, int parallelism) throws IOException {
+        List<Person> persons = new ArrayList<>();
+        if (filePaths.isEmpty()) {
+            return persons;
+        }
+        if (parallelism <= 1 || filePaths.size() == 1) {
+            for (String filePath : filePaths) {
+                persons.addAll(PersonSources.read(filePath));
+            }
+            return persons;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, filePaths.size()));
+        try {
+            List<Future<List<Person>>> futures = new ArrayList<>(filePaths.size());
+            for (String filePath : filePaths) {
+                futures.add(executor.submit(() -> PersonSources.read(filePath)));
+            }
+
+            for (Future<List<Person>> future : futures) {
+                persons.addAll(future.get());
+            }
+            return persons;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + filePaths, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Failed to load " + filePaths, cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Streams the people of all files one file after another. A file is opened only when the
+     * stream reaches it and closed as soon as its last person is consumed, so at most one file
+     * is open and nothing is loaded ahead. Close the stream if it is not consumed to the end.
+     *
+     * @param filePaths Paths to the files, format is picked by {@link PersonSources}
+     * @return Stream of Person objects, file by file; a file that cannot be read fails it
+     * with UncheckedIOException
+     */
+    public static Stream<Person> streamAll(List<String> filePaths) {
+        return filePaths.stream().flatMap(filePath -> {
+            try {
+                return PersonSources.stream(filePath); // Closed by flatMap
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
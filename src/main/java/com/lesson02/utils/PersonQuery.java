@@ -0,0 +1,174 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.Person;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Filter, projection and limit that readers apply while parsing.
+ *
+ * Readers check the age predicate first, before name and email Strings are built,
+ * skip Strings of columns that are not selected, and stop reading the file once
+ * the limit is reached. Usage:
+ * <pre>
+ * PersonQuery query = PersonQuery.all()
+ *         .whereAge(age -&gt; age &gt; 30)
+ *         .whereEmail(email -&gt; email.endsWith("@example.com"))
+ *         .select(PersonQuery.Column.NAME, PersonQuery.Column.AGE)
+ *         .limit(100);
+ * List&lt;Person&gt; people = PersonSources.query("people.csv", query);
+ * </pre>
+ *
+ * Queries are immutable: every method returns a new query.
+ */
+public class PersonQuery {
+
+    /**
+     * Columns that can be selected. Columns that are not selected stay null (or 0 for age).
+     */
+    public enum Column {
+        NAME, AGE, EMAIL
+    }
+
+    private static final PersonQuery ALL = new PersonQuery(null, null, null, EnumSet.allOf(Column.class), Long.MAX_VALUE);
+
+    private final IntPredicate agePredicate;
+    private final Predicate<String> namePredicate;
+    private final Predicate<String> emailPredicate;
+    private final Set<Column> columns;
+    private final long limit;
+
+    private PersonQuery(IntPredicate agePredicate, Predicate<String> namePredicate,
+                        Predicate<String> emailPredicate, Set<Column> columns, long limit) {
+        this.agePredicate = agePredicate;
+        this.namePredicate = namePredicate;
+        this.emailPredicate = emailPredicate;
+        this.columns = Collections.unmodifiableSet(columns);
+        this.limit = limit;
+    }
+
+    /**
+     * @return query that returns every person with all columns
+     */
+    public static PersonQuery all() {
+        return ALL;
+    }
+
+    /**
+     * Adds an age condition (combined with AND with earlier ones).
+     */
+    public PersonQuery whereAge(IntPredicate predicate) {
+        IntPredicate combined = agePredicate == null ? predicate : agePredicate.and(predicate);
+        return new PersonQuery(combined, namePredicate, emailPredicate, EnumSet.copyOf(columns), limit);
+    }
+
+    public PersonQuery ageAbove(int age) {
+        return whereAge(value -> value > age);
+    }
+
+    public PersonQuery ageBetween(int fromAge, int toAge) {
+        return whereAge(value -> value >= fromAge && value <= toAge);
+    }
+
+    /**
+     * Adds a name condition (combined with AND with earlier ones). The name may be null.
+     */
+    public PersonQuery whereName(Predicate<String> predicate) {
+        Predicate<String> combined = namePredicate == null ? predicate : namePredicate.and(predicate);
+        return new PersonQuery(agePredicate, combined, emailPredicate, EnumSet.copyOf(columns), limit);
+    }
+
+    /**
+     * Adds an email condition (combined with AND with earlier ones). The email may be null.
+     */
+    public PersonQuery whereEmail(Predicate<String> predicate) {
+        Predicate<String> combined = emailPredicate == null ? predicate : emailPredicate.and(predicate);
+        return new PersonQuery(agePredicate, namePredicate, combined, EnumSet.copyOf(columns), limit);
+    }
+
+    /**
+     * Keeps only the given columns in the result.
+     */
+    public PersonQuery select(Column... selected) {
+        if (selected.length == 0) {
+            throw new IllegalArgumentException("At least one column must be selected");
+        }
+        return new PersonQuery(agePredicate, namePredicate, emailPredicate,
+                EnumSet.copyOf(Arrays.asList(selected)), limit);
+    }
+
+    /**
+     * Stops reading after the given number of matching people.
+     */
+    public PersonQuery limit(long maxPeople) {
+        if (maxPeople < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + maxPeople);
+        }
+        return new PersonQuery(agePredicate, namePredicate, emailPredicate, EnumSet.copyOf(columns), maxPeople);
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public Set<Column> getColumns() {
+        return columns;
+    }
+
+    public boolean testAge(int age) {
+        return agePredicate == null || agePredicate.test(age);
+    }
+
+    public boolean testName(String name) {
+        return namePredicate == null || namePredicate.test(name);
+    }
+
+    public boolean testEmail(String email) {
+        return emailPredicate == null || emailPredicate.test(email);
+    }
+
+    /**
+     * @return true if the name String has to be built (for a condition or the result)
+     */
+    public boolean needsName() {
+        return namePredicate != null || columns.contains(Column.NAME);
+    }
+
+    /**
+     * @return true if the email String has to be built (for a condition or the result)
+     */
+    public boolean needsEmail() {
+        return emailPredicate != null || columns.contains(Column.EMAIL);
+    }
+
+    public boolean matches(Person person) {
+        return testAge(person.getAge()) && testName(person.getName()) && testEmail(person.getEmail());
+    }
+
+    /**
+     * Builds the result for a matching person, leaving out columns that are not selected.
+     */
+    public Person project(String name, int age, String email) {
+        return Person.builder()
+                .name(columns.contains(Column.NAME) ? name : null)
+                .age(columns.contains(Column.AGE) ? age : 0)
+                .email(columns.contains(Column.EMAIL) ? email : null)
+                .build();
+    }
+
+    public Person project(Person person) {
+        return project(person.getName(), person.getAge(), person.getEmail());
+    }
+
+    @Override
+    public String toString() {
+        return "PersonQuery{age=" + (agePredicate != null) + ", name=" + (namePredicate != null)
+                + ", email=" + (emailPredicate != null) + ", columns=" + columns
+                + ", limit=" + (limit == Long.MAX_VALUE ? "none" : String.valueOf(limit)) + "}";
+    }
+}
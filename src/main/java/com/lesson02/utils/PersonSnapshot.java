@@ -0,0 +1,338 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.Person;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Read-only view of a binary people snapshot written by {@link PersonSnapshotWriter}.
+ *
+ * The file is memory-mapped and nothing is decoded on open: ages are read from the
+ * fixed-width column and names/emails are decoded only when a record is accessed.
+ * Opening only checks the header and that the sections fit into the file, so it takes the
+ * same time for any number of people. The text offsets of a record are checked when the
+ * record is read, and a bad record fails with an UncheckedIOException instead of returning
+ * garbage. {@link #validate()} checks all records at once.
+ *
+ * File layout (big-endian, int columns aligned to 4 bytes):
+ * <pre>
+ * header        magic "PSNP", version (short), reserved (short), count (int),
+ *               6 section offsets (int): text data, ages, null flags,
+ *               name offsets, email offsets, end of file
+ * text data     UTF-8 bytes of name 0, email 0, name 1, email 1, ...
+ * ages          int[count]
+ * null flags    byte[count], bit 0: name is null, bit 1: email is null
+ * name offsets  int[count + 1], start of every name in text data, then the end of text data
+ * email offsets int[count], start of every email in text data
+ * </pre>
+ * Name i ends where email i starts, and email i ends where name i + 1 starts.
+ *
+ * Instances are safe to share between threads.
+ */
+public class PersonSnapshot implements Closeable {
+
+    static final byte[] MAGIC = {'P', 'S', 'N', 'P'};
+    static final short VERSION = 2;
+    static final int HEADER_SIZE = 36;
+    static final int NULL_NAME = 1;
+    static final int NULL_EMAIL = 2;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int textOffset;
+    private final int agesOffset;
+    private final int nullsOffset;
+    private final int nameOffsetsOffset;
+    private final int emailOffsetsOffset;
+    private final int textLength; // Without the padding in front of the ages
+
+    private PersonSnapshot(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE) {
+            throw new IOException("Not a people snapshot: file is too short");
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                throw new IOException("Not a people snapshot: wrong magic bytes");
+            }
+        }
+        short version = buffer.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported people snapshot version: " + version);
+        }
+
+        this.count = buffer.getInt(8);
+        this.textOffset = buffer.getInt(12);
+        this.agesOffset = buffer.getInt(16);
+        this.nullsOffset = buffer.getInt(20);
+        this.nameOffsetsOffset = buffer.getInt(24);
+        this.emailOffsetsOffset = buffer.getInt(28);
+        int end = buffer.getInt(32);
+
+        if (end != buffer.capacity()) {
+            throw new IOException("Corrupted people snapshot: expected " + end + " bytes, found " + buffer.capacity());
+        }
+        checkSections(end);
+        this.textLength = nameOffset(count);
+        int padding = agesOffset - textOffset - textLength;
+        if (nameOffset(0) != 0 || padding < 0 || padding > 3) {
+            throw new IOException("Corrupted people snapshot: bad start or end of text data");
+        }
+    }
+
+    /**
+     * Memory-maps a snapshot file.
+     *
+     * @param filePath Path to the snapshot
+     * @return Opened snapshot, close it when done
+     * @throws IOException if file cannot be read or is not a snapshot
+     */
+    public static PersonSnapshot open(String filePath) throws IOException {
+        return open(Paths.get(filePath));
+    }
+
+    /**
+     * Memory-maps a snapshot file.
+     *
+     * @param path Path to the snapshot
+     * @return Opened snapshot, close it when done
+     * @throws IOException if file cannot be read or is not a snapshot
+     */
+    public static PersonSnapshot open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("People snapshot is larger than 2 GB: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new PersonSnapshot(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks the first bytes of a file for the snapshot magic.
+     */
+    static boolean hasMagic(byte[] head, int length) {
+        if (length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (head[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of people in the snapshot
+     */
+    public int size() {
+        return count;
+    }
+
+    public int getAge(int index) {
+        checkIndex(index);
+        return buffer.getInt(agesOffset + index * 4);
+    }
+
+    public String getName(int index) {
+        checkIndex(index);
+        return readName(index);
+    }
+
+    public String getEmail(int index) {
+        checkIndex(index);
+        return readEmail(index);
+    }
+
+    /**
+     * Decodes one record.
+     *
+     * @param index Record number, 0 based
+     * @return new Person object
+     */
+    public Person get(int index) {
+        return Person.builder()
+                .name(getName(index))
+                .age(getAge(index))
+                .email(getEmail(index))
+                .build();
+    }
+
+    /**
+     * @return lazy stream that decodes records while it is consumed
+     */
+    public Stream<Person> stream() {
+        return IntStream.range(0, count).mapToObj(this::get);
+    }
+
+    /**
+     * @return all records decoded into a list
+     */
+    public List<Person> toList() {
+        List<Person> persons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            persons.add(get(i));
+        }
+        return persons;
+    }
+
+    /**
+     * Reads only the records that match a query. The age predicate runs on the age column,
+     * so names and emails of rejected records are never decoded.
+     *
+     * @param query Filter, projection and limit
+     * @return Matching people in snapshot order
+     */
+    public List<Person> query(PersonQuery query) {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < count && persons.size() < query.getLimit(); i++) {
+            int age = buffer.getInt(agesOffset + i * 4);
+            if (!query.testAge(age)) {
+                continue;
+            }
+            String name = query.needsName() ? readName(i) : null;
+            if (!query.testName(name)) {
+                continue;
+            }
+            String email = query.needsEmail() ? readEmail(i) : null;
+            if (!query.testEmail(email)) {
+                continue;
+            }
+            persons.add(query.project(name, age, email));
+        }
+        return persons;
+    }
+
+    /**
+     * Checks the text offsets and null flags of every record. Reading all of them touches
+     * every page of the offset columns, so it is not done on open; call it once after
+     * copying a snapshot from an untrusted place.
+     *
+     * @throws IOException if any record is corrupted
+     */
+    public void validate() throws IOException {
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            int name = nameOffset(i);
+            int email = emailOffset(i);
+            int next = nameOffset(i + 1);
+            if (name != previous || !isValid(i, name, email, next)) {
+                throw corrupted(i);
+            }
+            previous = next;
+        }
+    }
+
+    /**
+     * Gives direct access to the fixed-width age column without decoding.
+     *
+     * @return read-only buffer with {@link #size()} ints
+     */
+    public ByteBuffer ageColumn() {
+        ByteBuffer ages = buffer.duplicate();
+        ages.position(agesOffset).limit(agesOffset + count * 4);
+        return ages.slice().asReadOnlyBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close(); // The mapping itself is released by the GC
+    }
+
+    private String readName(int index) {
+        int from = nameOffset(index);
+        int to = emailOffset(index);
+        checkRecord(index, from, to, nameOffset(index + 1));
+        return (buffer.get(nullsOffset + index) & NULL_NAME) != 0 ? null : readText(from, to);
+    }
+
+    private String readEmail(int index) {
+        int from = emailOffset(index);
+        int to = nameOffset(index + 1);
+        checkRecord(index, nameOffset(index), from, to);
+        return (buffer.get(nullsOffset + index) & NULL_EMAIL) != 0 ? null : readText(from, to);
+    }
+
+    private void checkRecord(int index, int name, int email, int next) {
+        if (!isValid(index, name, email, next)) {
+            throw new UncheckedIOException(corrupted(index));
+        }
+    }
+
+    /**
+     * @return true if the record's text stays inside the text data and its null values are empty
+     */
+    private boolean isValid(int index, int name, int email, int next) {
+        int nulls = buffer.get(nullsOffset + index);
+        return name >= 0 && email >= name && next >= email && next <= textLength
+                && (nulls & ~(NULL_NAME | NULL_EMAIL)) == 0
+                && ((nulls & NULL_NAME) == 0 || email == name)
+                && ((nulls & NULL_EMAIL) == 0 || next == email);
+    }
+
+    private static IOException corrupted(int index) {
+        return new IOException("Corrupted people snapshot: bad text offsets of record " + index);
+    }
+
+    private int nameOffset(int index) {
+        return buffer.getInt(nameOffsetsOffset + index * 4);
+    }
+
+    private int emailOffset(int index) {
+        return buffer.getInt(emailOffsetsOffset + index * 4);
+    }
+
+    private String readText(int from, int to) {
+        if (from == to) {
+            return "";
+        }
+        byte[] bytes = new byte[to - from];
+        ByteBuffer text = buffer.duplicate(); // Own position, the shared buffer is never moved
+        text.position(textOffset + from);
+        text.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks that the sections follow each other in order and fit into the file.
+     */
+    private void checkSections(int end) throws IOException {
+        long textEnd = agesOffset;
+        if (count < 0
+                || textOffset != HEADER_SIZE
+                || textEnd < textOffset
+                || nullsOffset < agesOffset + 4L * count
+                || nameOffsetsOffset < (long) nullsOffset + count
+                || emailOffsetsOffset < nameOffsetsOffset + 4L * (count + 1)
+                || end < emailOffsetsOffset + 4L * count) {
+            throw new IOException("Corrupted people snapshot: section offsets do not fit into " + end + " bytes");
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + count + " people");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.Person;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes people into the compact binary snapshot format read by {@link PersonSnapshot}.
+ *
+ * Usage:
+ * PersonSnapshotWriter.convert("people.csv", "people.psnp");
+ * try (PersonSnapshot snapshot = PersonSnapshot.open("people.psnp")) { ... }
+ */
+public class PersonSnapshotWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Converts a CSV/JSON/YAML people file into a snapshot.
+     *
+     * @param sourcePath   Path to the source file, format is picked by {@link PersonSources}
+     * @param snapshotPath Path to the snapshot to create or overwrite
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void convert(String sourcePath, String snapshotPath) throws IOException {
+        try (Stream<Person> persons = PersonSources.stream(sourcePath)) {
+            write(persons.iterator(), Paths.get(snapshotPath));
+        }
+    }
+
+    /**
+     * Writes people into a snapshot.
+     *
+     * @param persons      People to write
+     * @param snapshotPath Path to the snapshot to create or overwrite
+     * @throws IOException if file cannot be written
+     */
+    public static void write(Iterable<Person> persons, String snapshotPath) throws IOException {
+        write(persons.iterator(), Paths.get(snapshotPath));
+    }
+
+    /**
+     * Writes people into a snapshot. The stream is consumed but not closed.
+     *
+     * @param persons      People to write
+     * @param snapshotPath Path to the snapshot to create or overwrite
+     * @throws IOException if file cannot be written
+     */
+    public static void write(Stream<Person> persons, String snapshotPath) throws IOException {
+        write(persons.iterator(), Paths.get(snapshotPath));
+    }
+
+    /**
+     * Writes people into a snapshot.
+     * Names and emails go straight to the file through a small buffer; only the fixed-width
+     * columns (ages, null flags, offsets) are kept in memory until the end, because they
+     * follow the text data and their positions go into the header.
+     *
+     * @param persons People to write
+     * @param path    Path to the snapshot to create or overwrite
+     * @throws IOException if file cannot be written or the snapshot would exceed 2 GB
+     */
+    public static void write(Iterator<Person> persons, Path path) throws IOException {
+        int[] ages = new int[1024];
+        byte[] nulls = new byte[1024];
+        int[] nameOffsets = new int[1025];
+        int[] emailOffsets = new int[1024];
+        int count = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(PersonSnapshot.HEADER_SIZE);
+            ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+            long text = 0; // Bytes of text data written so far
+
+            while (persons.hasNext()) {
+                Person person = persons.next();
+                if (count == ages.length) {
+                    ages = Arrays.copyOf(ages, count * 2);
+                    nulls = Arrays.copyOf(nulls, count * 2);
+                    nameOffsets = Arrays.copyOf(nameOffsets, count * 2 + 1);
+                    emailOffsets = Arrays.copyOf(emailOffsets, count * 2);
+                }
+
+                ages[count] = person.getAge();
+                nulls[count] = (byte) ((person.getName() == null ? PersonSnapshot.NULL_NAME : 0)
+                        | (person.getEmail() == null ? PersonSnapshot.NULL_EMAIL : 0));
+                nameOffsets[count] = checkOffset(text);
+                text += writeText(channel, out, person.getName());
+                emailOffsets[count] = checkOffset(text);
+                text += writeText(channel, out, person.getEmail());
+                count++;
+            }
+            nameOffsets[count] = checkOffset(text);
+
+            long textOffset = PersonSnapshot.HEADER_SIZE;
+            long agesOffset = align(textOffset + text);
+            long nullsOffset = agesOffset + 4L * count;
+            long nameOffsetsOffset = align(nullsOffset + count);
+            long emailOffsetsOffset = nameOffsetsOffset + 4L * (count + 1);
+            long end = emailOffsetsOffset + 4L * count;
+            if (end > Integer.MAX_VALUE) {
+                throw new IOException("People snapshot would be larger than 2 GB: " + end + " bytes");
+            }
+
+            pad(channel, out, agesOffset);
+            putInts(channel, out, ages, count);
+            putBytes(channel, out, nulls, count);
+            pad(channel, out, nameOffsetsOffset);
+            putInts(channel, out, nameOffsets, count + 1);
+            putInts(channel, out, emailOffsets, count);
+            flush(channel, out);
+
+            ByteBuffer header = ByteBuffer.allocate(PersonSnapshot.HEADER_SIZE);
+            header.put(PersonSnapshot.MAGIC)
+                    .putShort(PersonSnapshot.VERSION)
+                    .putShort((short) 0)
+                    .putInt(count)
+                    .putInt((int) textOffset)
+                    .putInt((int) agesOffset)
+                    .putInt((int) nullsOffset)
+                    .putInt((int) nameOffsetsOffset)
+                    .putInt((int) emailOffsetsOffset)
+                    .putInt((int) end)
+                    .flip();
+            channel.position(0);
+            writeFully(channel, header);
+        }
+    }
+
+    /**
+     * Writes the UTF-8 bytes of a value, nothing for null.
+     *
+     * @return number of bytes written
+     */
+    private static int writeText(FileChannel channel, ByteBuffer out, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > out.remaining()) {
+            flush(channel, out);
+            if (bytes.length > out.capacity()) {
+                writeFully(channel, ByteBuffer.wrap(bytes));
+                return bytes.length;
+            }
+        }
+        out.put(bytes);
+        return bytes.length;
+    }
+
+    private static void putInts(FileChannel channel, ByteBuffer out, int[] values, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            if (out.remaining() < 4) {
+                flush(channel, out);
+            }
+            out.putInt(values[i]);
+        }
+    }
+
+    private static void putBytes(FileChannel channel, ByteBuffer out, byte[] values, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            if (!out.hasRemaining()) {
+                flush(channel, out);
+            }
+            out.put(values[i]);
+        }
+    }
+
+    /**
+     * Writes zero bytes up to the given file position.
+     */
+    private static void pad(FileChannel channel, ByteBuffer out, long position) throws IOException {
+        flush(channel, out);
+        while (channel.position() < position) {
+            out.put((byte) 0);
+            flush(channel, out);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        writeFully(channel, out);
+        out.clear();
+    }
+
+    private static int checkOffset(long offset) throws IOException {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("People snapshot would be larger than 2 GB: " + offset + " bytes of text");
+        }
+        return (int) offset;
+    }
+
+    /**
+     * Rounds a position up to a multiple of 4, so int columns are aligned.
+     */
+    private static long align(long position) {
+        return (position + 3) & ~3L;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.Person;
+import com.lesson02.models.PersonTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A file format that people can be read from.
+ *
+ * Built-in formats live in {@link StandardPersonSource}. Custom formats can be added with
+ * {@link PersonSources#register(PersonSource)} or through a
+ * META-INF/services/com.lesson02.utils.PersonSource file (java.util.ServiceLoader).
+ */
+public interface PersonSource {
+
+    /**
+     * @return short format name, e.g. "csv"
+     */
+    String getFormat();
+
+    /**
+     * @return lower-case file extensions without the dot, e.g. "yaml", "yml"
+     */
+    Set<String> getExtensions();
+
+    /**
+     * Checks whether the first bytes of a file look like this format.
+     * Used when the file extension is unknown.
+     *
+     * @param head   First bytes of the file
+     * @param length Number of valid bytes in head
+     * @return true if the content is recognized
+     */
+    boolean matches(byte[] head, int length);
+
+    /**
+     * Streams people from a file. The stream must be closed to release the file.
+     *
+     * @param filePath Path to the file
+     * @return Stream of Person objects in file order
+     * @throws IOException if file cannot be read
+     */
+    Stream<Person> stream(String filePath) throws IOException;
+
+    /**
+     * Reads all people from a file.
+     *
+     * @param filePath Path to the file
+     * @return List of Person objects in file order
+     * @throws IOException if file cannot be read
+     */
+    default List<Person> read(String filePath) throws IOException {
+        try (Stream<Person> persons = stream(filePath)) {
+            return persons.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads all people from a file into a columnar table.
+     *
+     * @param filePath Path to the file
+     * @return Table with all people in file order
+     * @throws IOException if file cannot be read
+     */
+    default PersonTable readTable(String filePath) throws IOException {
+        try (Stream<Person> persons = stream(filePath)) {
+            return PersonTable.from(persons);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads only the people that match a query. Formats override this to check
+     * the query while parsing; the default filters the stream.
+     *
+     * @param filePath Path to the file
+     * @param query    Filter, projection and limit
+     * @return Matching people in file order
+     * @throws IOException if file cannot be read
+     */
+    default List<Person> query(String filePath, PersonQuery query) throws IOException {
+        try (Stream<Person> persons = stream(filePath)) {
+            return persons.filter(query::matches)
+                    .limit(query.getLimit())
+                    .map(query::project)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.Person;
+import com.lesson02.models.PersonTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Registry of {@link PersonSource} formats.
+ *
+ * The format of a file is picked by its extension first and by its first bytes
+ * ("magic bytes") when the extension is unknown. Sources registered later win over
+ * earlier ones, so a custom source can replace a built-in format.
+ */
+public class PersonSources {
+
+    // How many bytes are read for content sniffing
+    private static final int HEAD_SIZE = 512;
+
+    private static final List<PersonSource> SOURCES = new CopyOnWriteArrayList<>();
+
+    static {
+        SOURCES.addAll(Arrays.asList(StandardPersonSource.values()));
+        for (PersonSource source : ServiceLoader.load(PersonSource.class)) {
+            register(source);
+        }
+    }
+
+    /**
+     * Adds a format. It is checked before all formats registered earlier.
+     *
+     * @param source Format to add
+     */
+    public static void register(PersonSource source) {
+        SOURCES.add(0, source);
+    }
+
+    /**
+     * @return registered formats in lookup order
+     */
+    public static List<PersonSource> getSources() {
+        return new ArrayList<>(SOURCES);
+    }
+
+    /**
+     * Picks the format of a file by extension or, if the extension is unknown, by content.
+     *
+     * @param filePath Path to the file
+     * @return Matching format
+     * @throws IOException if file cannot be read or no format matches
+     */
+    public static PersonSource forFile(String filePath) throws IOException {
+        String extension = extensionOf(filePath);
+        for (PersonSource source : SOURCES) {
+            if (source.getExtensions().contains(extension)) {
+                return source;
+            }
+        }
+
+        byte[] head = new byte[HEAD_SIZE];
+        int length;
+        try (InputStream in = Files.newInputStream(Paths.get(filePath))) {
+            length = in.readNBytes(head, 0, head.length);
+        }
+        for (PersonSource source : SOURCES) {
+            if (source.matches(head, length)) {
+                return source;
+            }
+        }
+
+        throw new IOException("Unknown people file format: " + filePath);
+    }
+
+    /**
+     * Streams people from a file of any registered format.
+     *
+     * @param filePath Path to the file
+     * @return Stream of Person objects in file order, must be closed
+     * @throws IOException if file cannot be read or no format matches
+     */
+    public static Stream<Person> stream(String filePath) throws IOException {
+        return forFile(filePath).stream(filePath);
+    }
+
+    /**
+     * Reads people from a file of any registered format.
+     *
+     * @param filePath Path to the file
+     * @return List of Person objects in file order
+     * @throws IOException if file cannot be read or no format matches
+     */
+    public static List<Person> read(String filePath) throws IOException {
+        return forFile(filePath).read(filePath);
+    }
+
+    /**
+     * Reads people from a file of any registered format into a columnar table.
+     *
+     * @param filePath Path to the file
+     * @return Table with all people in file order
+     * @throws IOException if file cannot be read or no format matches
+     */
+    public static PersonTable readTable(String filePath) throws IOException {
+        return forFile(filePath).readTable(filePath);
+    }
+
+    /**
+     * Reads only the people that match a query from a file of any registered format.
+     *
+     * @param filePath Path to the file
+     * @param query    Filter, projection and limit, applied while parsing where the format supports it
+     * @return Matching people in file order
+     * @throws IOException if file cannot be read or no format matches
+     */
+    public static List<Person> query(String filePath, PersonQuery query) throws IOException {
+        return forFile(filePath).query(filePath, query);
+    }
+
+    private static String extensionOf(String filePath) {
+        String fileName = Paths.get(filePath).getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
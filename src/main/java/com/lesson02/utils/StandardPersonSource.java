@@ -0,0 +1,151 @@
+package com.lesson02.utils;
+
+import com.lesson02.models.Person;
+import com.lesson02.models.PersonTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Built-in people file formats backed by {@link PersonSnapshot}, {@link CSVReader},
+ * {@link JSONReader} and {@link YAMLReader}.
+ */
+public enum StandardPersonSource implements PersonSource {
+
+    SNAPSHOT("psnp") {
+        @Override
+        public boolean matches(byte[] head, int length) {
+            return PersonSnapshot.hasMagic(head, length);
+        }
+
+        @Override
+        public List<Person> query(String filePath, PersonQuery query) throws IOException {
+            try (PersonSnapshot snapshot = PersonSnapshot.open(filePath)) {
+                return snapshot.query(query);
+            }
+        }
+
+        @Override
+        public Stream<Person> stream(String filePath) throws IOException {
+            PersonSnapshot snapshot = PersonSnapshot.open(filePath);
+            return snapshot.stream().onClose(() -> {
+                try {
+                    snapshot.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    },
+
+    JSON("json") {
+        @Override
+        public boolean matches(byte[] head, int length) {
+            int first = firstSignificantByte(head, length);
+            return first >= 0 && (head[first] == '[' || head[first] == '{');
+        }
+
+        @Override
+        public Stream<Person> stream(String filePath) throws IOException {
+            return JSONReader.streamPersonsFromJSON(filePath);
+        }
+
+        @Override
+        public List<Person> query(String filePath, PersonQuery query) throws IOException {
+            return JSONReader.queryPersonsFromJSON(filePath, query);
+        }
+    },
+
+    YAML("yaml", "yml") {
+        @Override
+        public boolean matches(byte[] head, int length) {
+            int first = firstSignificantByte(head, length);
+            return startsWith(head, first, length, "---")
+                    || startsWith(head, first, length, "%YAML")
+                    || startsWith(head, first, length, "people:");
+        }
+
+        @Override
+        public Stream<Person> stream(String filePath) throws IOException {
+            return YAMLReader.streamPersonsFromYAML(filePath);
+        }
+    },
+
+    CSV("csv") {
+        @Override
+        public boolean matches(byte[] head, int length) {
+            for (int i = 0; i < length && head[i] != '\n'; i++) {
+                if (head[i] == ',') {
+                    return true; // Header line with columns
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Stream<Person> stream(String filePath) throws IOException {
+            return CSVReader.streamPersonsFromCSV(filePath);
+        }
+
+        @Override
+        public PersonTable readTable(String filePath) throws IOException {
+            return CSVReader.readTableFromCSV(filePath);
+        }
+
+        @Override
+        public List<Person> query(String filePath, PersonQuery query) throws IOException {
+            return CSVReader.queryPersonsFromCSV(filePath, query);
+        }
+    };
+
+    private final Set<String> extensions;
+
+    StandardPersonSource(String... extensions) {
+        this.extensions = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(extensions)));
+    }
+
+    @Override
+    public String getFormat() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+        return extensions;
+    }
+
+    /**
+     * @return index of the first byte that is not whitespace or UTF-8 BOM, or -1
+     */
+    private static int firstSignificantByte(byte[] head, int length) {
+        int i = 0;
+        if (length >= 3 && head[0] == (byte) 0xEF && head[1] == (byte) 0xBB && head[2] == (byte) 0xBF) {
+            i = 3;
+        }
+        while (i < length && Character.isWhitespace(head[i])) {
+            i++;
+        }
+        return i < length ? i : -1;
+    }
+
+    private static boolean startsWith(byte[] head, int from, int length, String prefix) {
+        byte[] expected = prefix.getBytes(StandardCharsets.US_ASCII);
+        if (from < 0 || length - from < expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (head[from + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,18 +1,34 @@
 package com.lesson02.utils;
 
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.lesson02.models.Person;
 import org.yaml.snakeyaml.Yaml;
+import java.io.Closeable;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for reading test data from YAML files.
  */
 public class YAMLReader {
 
+    // YAMLFactory is thread-safe and reusable
+    private static final YAMLFactory YAML_FACTORY = new YAMLFactory();
+
     /**
      * Reads Person objects from a YAML file.
      *
@@ -60,4 +76,168 @@ public class YAMLReader {
 
         return persons;
     }
+
+    /**
+     * Lazily streams Person objects from a YAML file without building a Map tree.
+     *
+     * The file is read event by event with Jackson's YAML streaming parser and every entry
+     * of the top-level "people" sequence is turned straight into a Person (age stays an int).
+     * Multi-document streams are supported: "people" sequences of all documents are
+     * returned one after another, so a big file can be split into "---" separated parts.
+     * The stream must be closed (try-with-resources) unless it is consumed to the end.
+     * A person without an int age fails the stream with an UncheckedIOException, like
+     * {@link #readPersonsFromYAML(String)} fails on it.
+     *
+     * @param filePath Path to the YAML file
+     * @return Stream of Person objects in file order
+     * @throws IOException if file cannot be opened
+     */
+    public static Stream<Person> streamPersonsFromYAML(String filePath) throws IOException {
+        PersonIterator iterator = new PersonIterator(YAML_FACTORY.createParser(new File(filePath)), filePath);
+        Spliterator<Person> spliterator = Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                iterator.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Iterator that pulls YAML events until the next person is complete.
+     */
+    private static class PersonIterator implements Iterator<Person>, Closeable {
+        private final JsonParser parser;
+        private final String filePath;
+        private Person next;
+        private boolean inPeople;
+        private boolean closed;
+
+        private PersonIterator(JsonParser parser, String filePath) {
+            this.parser = parser;
+            this.filePath = filePath;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+
+            try {
+                next = advance();
+                if (next == null) {
+                    close(); // End of stream - release the file right away
+                }
+                return next != null;
+            } catch (IOException e) {
+                closeQuietly(e);
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Person next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Person person = next;
+            next = null;
+            return person;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                parser.close();
+            }
+        }
+
+        /**
+         * Closes the file after a failure; a close error is added to it as suppressed
+         * instead of replacing it.
+         */
+        private void closeQuietly(Exception primary) {
+            try {
+                close();
+            } catch (IOException e) {
+                primary.addSuppressed(e);
+            }
+        }
+
+        private Person advance() throws IOException {
+            while (true) {
+                JsonToken token = parser.nextToken();
+                if (token == null) {
+                    return null;
+                }
+
+                if (inPeople) {
+                    if (token == JsonToken.START_OBJECT) {
+                        return readPerson();
+                    }
+                    if (token == JsonToken.END_ARRAY) {
+                        inPeople = false;
+                    } else {
+                        parser.skipChildren(); // Not a person mapping
+                    }
+                } else if (token == JsonToken.FIELD_NAME
+                        && parser.getParsingContext().getParent().inRoot()
+                        && "people".equals(parser.getCurrentName())) {
+                    if (parser.nextToken() == JsonToken.START_ARRAY) {
+                        inPeople = true;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+
+        private Person readPerson() throws IOException {
+            Person.PersonBuilder person = Person.builder();
+            JsonLocation start = parser.getTokenLocation();
+            boolean hasAge = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "name":
+                        person.name(parser.getValueAsString());
+                        break;
+                    case "age":
+                        if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT
+                                || parser.getNumberType() != JsonParser.NumberType.INT) {
+                            throw badData("age is not an int: " + parser.getText(), parser.getTokenLocation());
+                        }
+                        person.age(parser.getIntValue());
+                        hasAge = true;
+                        break;
+                    case "email":
+                        person.email(parser.getValueAsString());
+                        break;
+                    default:
+                        parser.skipChildren(); // Unknown field
+                        break;
+                }
+            }
+            if (!hasAge) {
+                throw badData("person has no age", start);
+            }
+            return person.build();
+        }
+
+        private IOException badData(String problem, JsonLocation location) {
+            return new IOException("Bad person in " + filePath + " at line " + location.getLineNr()
+                    + ", column " + location.getColumnNr() + ": " + problem);
+        }
+    }
 }
@@ -0,0 +1,295 @@
+package com.lesson01;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels of {@link CalculatorKernels} for Java 17+.
+ *
+ * Packed into META-INF/versions/17 by the {@code vector} profile, where it replaces the plain
+ * loops of the base version. Every method handles whole vectors of the preferred (widest) size
+ * in {@link Simd} and the rest with a scalar tail loop. The JVM must run with
+ * {@code --add-modules jdk.incubator.vector}; without it, or with {@code -Dcalculator.vector=false},
+ * Simd is never loaded and the tail loop does all the work.
+ */
+final class VectorKernels {
+
+    private static final boolean VECTOR = useVectorApi();
+
+    private VectorKernels() {
+    }
+
+    static boolean isAvailable() {
+        return VECTOR;
+    }
+
+    static void add(int[] a, int[] b, int[] out, int length) {
+        for (int i = VECTOR ? Simd.add(a, b, out, length) : 0; i < length; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+
+    static void add(long[] a, long[] b, long[] out, int length) {
+        for (int i = VECTOR ? Simd.add(a, b, out, length) : 0; i < length; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+
+    static void add(double[] a, double[] b, double[] out, int length) {
+        for (int i = VECTOR ? Simd.add(a, b, out, length) : 0; i < length; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+
+    static void subtract(int[] a, int[] b, int[] out, int length) {
+        for (int i = VECTOR ? Simd.subtract(a, b, out, length) : 0; i < length; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    static void subtract(long[] a, long[] b, long[] out, int length) {
+        for (int i = VECTOR ? Simd.subtract(a, b, out, length) : 0; i < length; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    static void subtract(double[] a, double[] b, double[] out, int length) {
+        for (int i = VECTOR ? Simd.subtract(a, b, out, length) : 0; i < length; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    static void multiply(int[] a, int[] b, int[] out, int length) {
+        for (int i = VECTOR ? Simd.multiply(a, b, out, length) : 0; i < length; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    static void multiply(long[] a, long[] b, long[] out, int length) {
+        for (int i = VECTOR ? Simd.multiply(a, b, out, length) : 0; i < length; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    static void multiply(double[] a, double[] b, double[] out, int length) {
+        for (int i = VECTOR ? Simd.multiply(a, b, out, length) : 0; i < length; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    static void divide(double[] a, double[] b, double[] out, int length) {
+        for (int i = VECTOR ? Simd.divide(a, b, out, length) : 0; i < length; i++) {
+            out[i] = a[i] / b[i];
+        }
+    }
+
+    static long sum(long[] values, int length) {
+        int i = VECTOR ? Simd.longBound(length) : 0;
+        long sum = VECTOR ? Simd.sum(values, i) : 0;
+        for (; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    static double sum(double[] values, int length) {
+        if (!VECTOR) {
+            return interleavedSum(values, length); // Same order as the base version
+        }
+        int i = Simd.doubleBound(length);
+        double sum = Simd.sum(values, i);
+        for (; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    static int countEvens(int[] values, int length) {
+        int i = VECTOR ? Simd.intBound(length) : 0;
+        int count = VECTOR ? Simd.countEvens(values, i) : 0;
+        for (; i < length; i++) {
+            count += ~values[i] & 1;
+        }
+        return count;
+    }
+
+    static int countEvens(long[] values, int length) {
+        int i = VECTOR ? Simd.longBound(length) : 0;
+        int count = VECTOR ? Simd.countEvens(values, i) : 0;
+        for (; i < length; i++) {
+            count += (int) (~values[i] & 1);
+        }
+        return count;
+    }
+
+    private static double interleavedSum(double[] values, int length) {
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += values[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static boolean useVectorApi() {
+        if (!Boolean.parseBoolean(System.getProperty("calculator.vector", "true"))) {
+            return false;
+        }
+        try {
+            return Simd.isUseful();
+        } catch (LinkageError e) {
+            return false; // Started without --add-modules jdk.incubator.vector
+        }
+    }
+
+    /**
+     * The only class that touches jdk.incubator.vector, so VectorKernels loads without it.
+     * Elementwise methods return how many elements they handled (whole vectors only),
+     * reductions take that bound.
+     */
+    private static final class Simd {
+        private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+        private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+        private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+        static boolean isUseful() {
+            return INTS.length() > 1; // No real SIMD if a vector has one lane
+        }
+
+        static int intBound(int length) {
+            return INTS.loopBound(length);
+        }
+
+        static int longBound(int length) {
+            return LONGS.loopBound(length);
+        }
+
+        static int doubleBound(int length) {
+            return DOUBLES.loopBound(length);
+        }
+
+        static int add(int[] a, int[] b, int[] out, int length) {
+            int i = 0;
+            for (int bound = INTS.loopBound(length); i < bound; i += INTS.length()) {
+                IntVector.fromArray(INTS, a, i).add(IntVector.fromArray(INTS, b, i)).intoArray(out, i);
+            }
+            return i;
+        }
+
+        static int add(long[] a, long[] b, long[] out, int length) {
+            int i = 0;
+            for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+                LongVector.fromArray(LONGS, a, i).add(LongVector.fromArray(LONGS, b, i)).intoArray(out, i);
+            }
+            return i;
+        }
+
+        static int add(double[] a, double[] b, double[] out, int length) {
+            int i = 0;
+            for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+                DoubleVector.fromArray(DOUBLES, a, i).add(DoubleVector.fromArray(DOUBLES, b, i)).intoArray(out, i);
+            }
+            return i;
+        }
+
+        static int subtract(int[] a, int[] b, int[] out, int length) {
+            int i = 0;
+            for (int bound = INTS.loopBound(length); i < bound; i += INTS.length()) {
+                IntVector.fromArray(INTS, a, i).sub(IntVector.fromArray(INTS, b, i)).intoArray(out, i);
+            }
+            return i;
+        }
+
+        static int subtract(long[] a, long[] b, long[] out, int length) {
+            int i = 0;
+            for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+                LongVector.fromArray(LONGS, a, i).sub(LongVector.fromArray(LONGS, b, i)).intoArray(out, i);
+            }
+            return i;
+        }
+
+        static int subtract(double[] a, double[] b, double[] out, int length) {
+            int i = 0;
+            for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+                DoubleVector.fromArray(DOUBLES, a, i).sub(DoubleVector.fromArray(DOUBLES, b, i)).intoArray(out, i);
+            }
+            return i;
+        }
+
+        static int multiply(int[] a, int[] b, int[] out, int length) {
+            int i = 0;
+            for (int bound = INTS.loopBound(length); i < bound; i += INTS.length()) {
+                IntVector.fromArray(INTS, a, i).mul(IntVector.fromArray(INTS, b, i)).intoArray(out, i);
+            }
+            return i;
+        }
+
+        static int multiply(long[] a, long[] b, long[] out, int length) {
+            int i = 0;
+            for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+                LongVector.fromArray(LONGS, a, i).mul(LongVector.fromArray(LONGS, b, i)).intoArray(out, i);
+            }
+            return i;
+        }
+
+        static int multiply(double[] a, double[] b, double[] out, int length) {
+            int i = 0;
+            for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+                DoubleVector.fromArray(DOUBLES, a, i).mul(DoubleVector.fromArray(DOUBLES, b, i)).intoArray(out, i);
+            }
+            return i;
+        }
+
+        static int divide(double[] a, double[] b, double[] out, int length) {
+            int i = 0;
+            for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+                DoubleVector.fromArray(DOUBLES, a, i).div(DoubleVector.fromArray(DOUBLES, b, i)).intoArray(out, i);
+            }
+            return i;
+        }
+
+        static long sum(long[] values, int bound) {
+            LongVector sums = LongVector.zero(LONGS);
+            for (int i = 0; i < bound; i += LONGS.length()) {
+                sums = sums.add(LongVector.fromArray(LONGS, values, i));
+            }
+            return sums.reduceLanes(VectorOperators.ADD);
+        }
+
+        static double sum(double[] values, int bound) {
+            DoubleVector sums = DoubleVector.zero(DOUBLES);
+            for (int i = 0; i < bound; i += DOUBLES.length()) {
+                sums = sums.add(DoubleVector.fromArray(DOUBLES, values, i));
+            }
+            return sums.reduceLanes(VectorOperators.ADD);
+        }
+
+        static int countEvens(int[] values, int bound) {
+            int count = 0;
+            for (int i = 0; i < bound; i += INTS.length()) {
+                count += IntVector.fromArray(INTS, values, i).and(1).compare(VectorOperators.EQ, 0).trueCount();
+            }
+            return count;
+        }
+
+        static int countEvens(long[] values, int bound) {
+            int count = 0;
+            for (int i = 0; i < bound; i += LONGS.length()) {
+                count += LongVector.fromArray(LONGS, values, i).and(1L).compare(VectorOperators.EQ, 0L).trueCount();
+            }
+            return count;
+        }
+    }
+}
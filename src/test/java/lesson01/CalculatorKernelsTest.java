@@ -0,0 +1,150 @@
+package lesson01;
+
+import com.lesson01.Calculator;
+import com.lesson01.CalculatorKernels;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tests for the bulk Calculator kernels: every element must match a single Calculator call.
+ */
+public class CalculatorKernelsTest {
+
+    private static final int SIZE = 1003; // Not a multiple of any vector length, so tails are tested too
+
+    private final Calculator calculator = new Calculator();
+    private final Random random = new Random(11);
+
+    @Test
+    public void testIntOperationsMatchCalculator() {
+        int[] a = randomInts();
+        int[] b = randomInts();
+        int[] sum = new int[SIZE];
+        int[] difference = new int[SIZE];
+        int[] product = new int[SIZE];
+
+        CalculatorKernels.add(a, b, sum);
+        CalculatorKernels.subtract(a, b, difference);
+        CalculatorKernels.multiply(a, b, product);
+
+        for (int i = 0; i < SIZE; i++) {
+            Assert.assertEquals(sum[i], calculator.add(a[i], b[i]));
+            Assert.assertEquals(difference[i], calculator.subtract(a[i], b[i]));
+            Assert.assertEquals(product[i], calculator.multiply(a[i], b[i]));
+        }
+    }
+
+    @Test
+    public void testLongAndDoubleOperations() {
+        long[] a = random.longs(SIZE).toArray();
+        long[] b = random.longs(SIZE).toArray();
+        long[] out = new long[SIZE];
+        double[] x = random.doubles(SIZE).toArray();
+        double[] y = random.doubles(SIZE, 1, 2).toArray();
+        double[] z = new double[SIZE];
+
+        CalculatorKernels.multiply(a, b, out);
+        CalculatorKernels.divide(x, y, z);
+
+        for (int i = 0; i < SIZE; i++) {
+            Assert.assertEquals(out[i], a[i] * b[i]);
+            Assert.assertEquals(z[i], calculator.divide(x[i], y[i]));
+        }
+
+        long[] original = a.clone();
+        CalculatorKernels.add(a, b, a); // Output may be an input
+        for (int i = 0; i < SIZE; i++) {
+            Assert.assertEquals(a[i], original[i] + b[i]);
+        }
+    }
+
+    @Test
+    public void testReductions() {
+        int[] values = randomInts();
+        long[] longs = Arrays.stream(values).asLongStream().toArray();
+        double[] doubles = random.doubles(SIZE).toArray();
+
+        Assert.assertEquals(CalculatorKernels.sum(values), Arrays.stream(values).asLongStream().sum());
+        Assert.assertEquals(CalculatorKernels.sum(longs), Arrays.stream(longs).sum());
+        Assert.assertEquals(CalculatorKernels.sum(doubles), Arrays.stream(doubles).sum(), 1e-9);
+        Assert.assertEquals(CalculatorKernels.min(values), Arrays.stream(values).min().getAsInt());
+        Assert.assertEquals(CalculatorKernels.max(longs), Arrays.stream(longs).max().getAsLong());
+        Assert.assertEquals(CalculatorKernels.max(doubles), Arrays.stream(doubles).max().getAsDouble());
+
+        int evens = 0;
+        for (int value : values) {
+            if (calculator.isEven(value)) {
+                evens++;
+            }
+        }
+        Assert.assertEquals(CalculatorKernels.countEvens(values), evens);
+        Assert.assertEquals(CalculatorKernels.countEvens(longs), evens);
+    }
+
+    @Test
+    public void testDoubleSumPathsAgree() {
+        double[] values = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12)); // Mixed magnitudes
+        }
+        double absoluteSum = Arrays.stream(values).map(Math::abs).sum();
+        double tolerance = 2 * SIZE * Math.ulp(1.0) * absoluteSum; // Bound for any summation order
+
+        double scalar = scalarSum(values);
+        double actual = CalculatorKernels.sum(values);
+
+        if (!CalculatorKernels.isVectorized()) {
+            Assert.assertEquals(actual, scalar, 0.0, "Scalar path should be deterministic");
+        }
+        Assert.assertEquals(actual, scalar, tolerance, "Vector and scalar sums should agree up to rounding");
+        Assert.assertEquals(actual, Arrays.stream(values).sum(), tolerance);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class, expectedExceptionsMessageRegExp = "B cannot be 0!")
+    public void testDivideByZero() {
+        double[] out = {7, 7};
+        try {
+            CalculatorKernels.divide(new double[]{1, 2}, new double[]{1, 0}, out);
+        } finally {
+            Assert.assertEquals(out, new double[]{7, 7}, "Output should not change on error");
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDifferentLengths() {
+        CalculatorKernels.add(new int[2], new int[3], new int[2]);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testMinOfEmptyArray() {
+        CalculatorKernels.min(new int[0]);
+    }
+
+    /**
+     * Same addition order as the scalar path of CalculatorKernels.sum(double[]).
+     */
+    private static double scalarSum(double[] values) {
+        double[] parts = new double[4];
+        int i = 0;
+        for (; i + 3 < values.length; i += 4) {
+            for (int part = 0; part < 4; part++) {
+                parts[part] += values[i + part];
+            }
+        }
+        for (; i < values.length; i++) {
+            parts[0] += values[i];
+        }
+        return (parts[0] + parts[1]) + (parts[2] + parts[3]);
+    }
+
+    private int[] randomInts() {
+        int[] values = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = i % 7 == 0 ? Integer.MAX_VALUE - i : random.nextInt(); // Overflowing values too
+        }
+        return values;
+    }
+}
@@ -0,0 +1,81 @@
+package lesson01;
+
+import com.week01.EmailBatchValidator;
+import com.week01.EmailValidator;
+import com.week01.StringValidator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Tests for bulk email validation with bitmap results.
+ */
+public class EmailBatchValidatorTest {
+
+    private static final List<String> EMAILS = generateEmails(100_003);
+
+    @Test
+    public void testListMatchesOneByOne() {
+        BitSet expected = new BitSet();
+        for (int i = 0; i < EMAILS.size(); i++) {
+            if (EmailValidator.isValid(EMAILS.get(i))) {
+                expected.set(i);
+            }
+        }
+
+        EmailBatchValidator.Result result = new StringValidator().validateEmails(EMAILS);
+
+        Assert.assertEquals(result.getValid(), expected);
+        Assert.assertEquals(result.getRows(), EMAILS.size());
+        Assert.assertEquals(result.getValidCount(), expected.cardinality());
+        Assert.assertEquals(result.getInvalidCount() + result.getValidCount(), EMAILS.size());
+        Assert.assertEquals(result.getInvalid().cardinality(), result.getInvalidCount());
+    }
+
+    @Test
+    public void testAllInputsAgree() {
+        BitSet expected = EmailBatchValidator.validate(EMAILS).getValid();
+
+        Assert.assertEquals(EmailBatchValidator.validate(EMAILS.toArray(new String[0])).getValid(), expected);
+        Assert.assertEquals(EmailBatchValidator.validate(EMAILS.stream()).getValid(), expected);
+        Assert.assertEquals(EmailBatchValidator.validate(new LinkedList<>(EMAILS.subList(0, 1000))).getValid(),
+                expected.get(0, 1000));
+    }
+
+    @Test
+    public void testSmallAndEmptyBatches() {
+        List<String> emails = new ArrayList<>();
+        emails.add("a@b.cc");
+        emails.add(null);
+        emails.add("broken");
+
+        EmailBatchValidator.Result result = EmailBatchValidator.validate(emails);
+
+        Assert.assertTrue(result.isValid(0));
+        Assert.assertFalse(result.isValid(1));
+        Assert.assertEquals(result.getValidCount(), 1);
+        Assert.assertEquals(EmailBatchValidator.validate(new ArrayList<String>()).getRows(), 0);
+    }
+
+    private static List<String> generateEmails(int count) {
+        List<String> emails = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            switch (i % 5) {
+                case 0:
+                    emails.add("person" + i + "@example");
+                    break;
+                case 1:
+                    emails.add(null);
+                    break;
+                default:
+                    emails.add("person" + i + "@example.com");
+                    break;
+            }
+        }
+        return emails;
+    }
+}
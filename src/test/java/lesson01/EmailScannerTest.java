@@ -0,0 +1,114 @@
+package lesson01;
+
+import com.week01.EmailScanner;
+import com.week01.EmailValidator;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tests for finding emails in memory-mapped text files.
+ */
+public class EmailScannerTest {
+
+    private static final Pattern TOKEN = Pattern.compile("[A-Za-z0-9+_.@-]+");
+    private static final Pattern EMAIL = Pattern.compile(EmailValidator.EMAIL_REGEX);
+
+    @DataProvider(name = "windows")
+    public Object[][] windows() {
+        return new Object[][]{{256L}, {1000L}, {4093L}, {EmailScanner.DEFAULT_WINDOW}}; // Bigger than any generated token
+    }
+
+    @Test
+    public void testFindsEmailsInText() throws IOException {
+        Path file = writeTemp("Contact: john@example.com, jane.doe+tag@mail.example.org.\n"
+                + "Broken: @example.com, a@b, x@y.z, имя@example.com\tlast@test.io");
+
+        EmailScanner.ScanResult result = EmailScanner.scan(file.toString());
+
+        Assert.assertEquals(result.getCount(), 3);
+        Assert.assertEquals(result.getOffset(0), 9);
+        Assert.assertEquals(result.getLength(0), "john@example.com".length());
+        Assert.assertEquals(readAt(file, result.getOffset(1), result.getLength(1)), "jane.doe+tag@mail.example.org");
+        Assert.assertEquals(readAt(file, result.getOffset(2), result.getLength(2)), "last@test.io");
+    }
+
+    @Test(dataProvider = "windows")
+    public void testMatchesRegexReference(long window) throws IOException {
+        Path file = writeTemp(generateText(20_000));
+        List<Long> expected = referenceOffsets(file);
+        List<Long> actual = new ArrayList<>();
+
+        long count = EmailScanner.scan(file.toString(), window, (offset, length) -> actual.add(offset));
+
+        Assert.assertEquals(actual, expected);
+        Assert.assertEquals(count, expected.size());
+    }
+
+    @Test
+    public void testTokensBiggerThanWindowAreSkipped() throws IOException {
+        Path file = writeTemp("somebody.with.long.name@example.com ok@b.cc");
+        List<Long> offsets = new ArrayList<>();
+
+        EmailScanner.scan(file.toString(), 8, (offset, length) -> offsets.add(offset));
+
+        Assert.assertEquals(offsets.size(), 1);
+        Assert.assertEquals(readAt(file, offsets.get(0), 7), "ok@b.cc");
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        Assert.assertEquals(EmailScanner.scan(writeTemp("").toString()).getCount(), 0);
+    }
+
+    /**
+     * Same rules with regexes: tokens of email chars, trailing dots dropped, whole-token match.
+     */
+    private static List<Long> referenceOffsets(Path file) throws IOException {
+        String text = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1); // One char per byte
+        List<Long> offsets = new ArrayList<>();
+        Matcher token = TOKEN.matcher(text);
+        while (token.find()) {
+            String value = token.group().replaceAll("\\.+$", "");
+            if (EMAIL.matcher(value).matches()) {
+                offsets.add((long) token.start());
+            }
+        }
+        return offsets;
+    }
+
+    private static String generateText(int words) {
+        String[] parts = {"john", "a.b", "x+y", "@", "example", ".com", ".c", "..", "-", "ü", " ", ", ", "\n", "\t", "."};
+        Random random = new Random(7);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(parts[random.nextInt(parts.length)]);
+            if (random.nextInt(10) == 0) {
+                text.append(" user").append(i).append("@example.com ");
+            }
+        }
+        return text.toString();
+    }
+
+    private static String readAt(Path file, long offset, int length) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        return new String(bytes, (int) offset, length, StandardCharsets.UTF_8);
+    }
+
+    private static Path writeTemp(String content) throws IOException {
+        Path file = Files.createTempFile("emails", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
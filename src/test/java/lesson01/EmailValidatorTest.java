@@ -0,0 +1,92 @@
+package lesson01;
+
+import com.week01.EmailValidator;
+import com.week01.StringValidator;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Differential tests: the DFA validator must agree with the regex on every input.
+ */
+public class EmailValidatorTest {
+
+    private static final Pattern REGEX = Pattern.compile(EmailValidator.EMAIL_REGEX);
+
+    // Chars that drive the regex through all its branches, plus some that it rejects
+    private static final char[] ALPHABET = {'a', 'Z', '0', '-', '.', '@', '+', '_', ' ', 'é', '\n', '中'};
+
+    @DataProvider(name = "emails")
+    public Object[][] emails() {
+        return new Object[][]{
+                {"test@example.com"}, {"first.last+tag@sub.domain.org"}, {"a@b.cc"}, {"a@b.c"},
+                {"a@.cc"}, {"a@..cc"}, {"a@b.c1"}, {"a@b.cc."}, {"@b.cc"}, {"a@@b.cc"}, {"a@b_c.cc"},
+                {"invalid-email"}, {""}, {"a@b.cc\n"}, {"ü@b.cc"}, {"a@b.ccé"}, {"-@-.--.aa"}, {"a@1.2.3.xyz"}
+        };
+    }
+
+    @Test(dataProvider = "emails")
+    public void testKnownCases(String email) {
+        assertSameAsRegex(email);
+    }
+
+    @Test
+    public void testAllShortStrings() {
+        char[] alphabet = {'a', '1', '.', '@', '-', '+'};
+        char[] chars = new char[7];
+        for (int length = 0; length <= chars.length; length++) {
+            int combinations = (int) Math.pow(alphabet.length, length);
+            for (int n = 0; n < combinations; n++) {
+                int rest = n;
+                for (int i = 0; i < length; i++) {
+                    chars[i] = alphabet[rest % alphabet.length];
+                    rest /= alphabet.length;
+                }
+                assertSameAsRegex(new String(chars, 0, length));
+            }
+        }
+    }
+
+    @Test
+    public void testRandomStrings() {
+        Random random = new Random(42);
+        StringBuilder email = new StringBuilder();
+        for (int n = 0; n < 200_000; n++) {
+            email.setLength(0);
+            int length = random.nextInt(14);
+            for (int i = 0; i < length; i++) {
+                email.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            if (random.nextBoolean()) {
+                email.append(random.nextBoolean() ? ".com" : ".c"); // Push more samples towards valid ones
+            }
+            assertSameAsRegex(email.toString());
+        }
+    }
+
+    @Test
+    public void testRangesAndNull() {
+        String text = "xx test@example.com yy";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        Assert.assertTrue(EmailValidator.isValid(text, 3, 19));
+        Assert.assertTrue(EmailValidator.isValid(bytes, 3, 19));
+        Assert.assertFalse(EmailValidator.isValid(text, 2, 19));
+        Assert.assertFalse(EmailValidator.isValid((CharSequence) null));
+        Assert.assertFalse(EmailValidator.isValid((byte[]) null));
+        Assert.assertFalse(new StringValidator().isValidEmail(null));
+    }
+
+    private static void assertSameAsRegex(String email) {
+        boolean expected = REGEX.matcher(email).matches();
+        Assert.assertEquals(EmailValidator.isValid(email), expected, "CharSequence: \"" + email + "\"");
+        Assert.assertEquals(EmailValidator.isValid(new StringBuilder(email)), expected, "StringBuilder: \"" + email + "\"");
+        Assert.assertEquals(EmailValidator.isValid(email.getBytes(StandardCharsets.UTF_8)), expected,
+                "UTF-8: \"" + email + "\"");
+        Assert.assertEquals(new StringValidator().isValidEmail(email), expected, "StringValidator: \"" + email + "\"");
+    }
+}
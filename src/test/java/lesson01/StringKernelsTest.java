@@ -0,0 +1,120 @@
+package lesson01;
+
+import com.week01.StringKernels;
+import com.week01.StringValidator;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for the in-place palindrome check and reverse.
+ */
+public class StringKernelsTest {
+
+    private static final String GRIN = "😀";  // U+1F600, a surrogate pair
+    private static final String HEART = "💖"; // U+1F496, same high surrogate
+
+    @DataProvider(name = "palindromes")
+    public Object[][] palindromes() {
+        return new Object[][]{
+                {"A man, a plan, a canal: Panama", true},
+                {"racecar", true},
+                {"hello", false},
+                {"Ésé", true},
+                {"Ésa", false},
+                {"Σίτ", false},
+                {"ΣαΣ", true},
+                {"σας", true}, // Final sigma folds to the same letter
+                {"𝒜b𝒜", true}, // Math letters outside the BMP
+                {"𝒜b𝒝", false},
+                {"!!", true},
+                {"", false},
+                {null, false}
+        };
+    }
+
+    @Test(dataProvider = "palindromes")
+    public void testPalindromes(String input, boolean expected) {
+        Assert.assertEquals(StringKernels.isPalindrome(input), expected, "Input: " + input);
+    }
+
+    @Test
+    public void testAsciiMatchesOldImplementation() {
+        Random random = new Random(3);
+        char[] alphabet = {'a', 'A', 'b', 'B', '1', ' ', ',', '!'};
+        StringValidator validator = new StringValidator();
+        for (int n = 0; n < 100_000; n++) {
+            char[] chars = new char[random.nextInt(8) + 1];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String input = new String(chars);
+            String cleaned = input.replaceAll("[^a-zA-Z0-9]", "").toLowerCase();
+            boolean expected = cleaned.equals(new StringBuilder(cleaned).reverse().toString());
+
+            Assert.assertEquals(validator.isPalindrome(input), expected, "Input: " + input);
+        }
+    }
+
+    @Test
+    public void testNonAsciiLettersCount() {
+        StringValidator validator = new StringValidator();
+
+        // The old ASCII-only check dropped non-ASCII letters: "éa" was cleaned to "a", "ж" to ""
+        Assert.assertFalse(validator.isPalindrome("éa"), "Non-ASCII letters are compared, not dropped");
+        Assert.assertFalse(validator.isPalindrome("ж ab BA"), "Was true as \"abba\"");
+        Assert.assertTrue(validator.isPalindrome("ж"), "A single letter is a palindrome");
+        Assert.assertTrue(validator.isPalindrome("Ésé"));
+    }
+
+    @Test
+    public void testReverseKeepsSurrogatePairs() {
+        Random random = new Random(5);
+        String[] parts = {"a", "b", GRIN, HEART, "\uD83D", "\uDE00", "é"}; // Lone surrogates too
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                text.append(parts[random.nextInt(parts.length)]);
+            }
+            char[] chars = text.toString().toCharArray();
+
+            StringKernels.reverse(chars);
+
+            Assert.assertEquals(new String(chars), new StringBuilder(text).reverse().toString(), "Input: " + text);
+        }
+    }
+
+    @Test
+    public void testReverseRangeAndBatch() {
+        char[] chars = ("x" + GRIN + "ab" + "y").toCharArray();
+        StringKernels.reverse(chars, 1, chars.length - 1);
+        Assert.assertEquals(new String(chars), "xba" + GRIN + "y");
+
+        char[][] words = {"abc".toCharArray(), (GRIN + HEART).toCharArray(), new char[0]};
+        StringKernels.reverseAll(words);
+        Assert.assertEquals(new String(words[0]), "cba");
+        Assert.assertEquals(new String(words[1]), HEART + GRIN);
+        Assert.assertEquals(words[2].length, 0);
+    }
+
+    @Test
+    public void testFindPalindromes() {
+        List<String> words = new ArrayList<>();
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 20_000; i++) {
+            String word = i % 3 == 0 ? "Level" + i + "level" : "Level" + i + "leveL";
+            words.add(word);
+            if (new StringBuilder(word.toLowerCase()).reverse().toString().equals(word.toLowerCase())) {
+                expected.set(i);
+            }
+        }
+
+        Assert.assertEquals(StringKernels.findPalindromes(words), expected);
+    }
+}
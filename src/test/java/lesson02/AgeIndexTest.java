@@ -0,0 +1,116 @@
+package lesson02;
+
+import com.lesson02.AgeIndex;
+import com.lesson02.models.Person;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests that age index queries give the same answers as a full scan.
+ */
+public class AgeIndexTest {
+
+    @Test(groups = "regression")
+    public void testQueriesMatchScan() {
+        List<Person> people = TestDataLesson2.randomPeople(5_000, 0, 99);
+        AgeIndex index = AgeIndex.of(people);
+
+        for (int age = -5; age <= 105; age += 7) {
+            int from = age;
+            int to = age + 12;
+            Assert.assertEquals(index.countOlderThan(age), people.stream().filter(p -> p.getAge() > from).count());
+            Assert.assertEquals(index.countByAge(age), people.stream().filter(p -> p.getAge() == from).count());
+            Assert.assertEquals(index.between(from, to).size(), index.countBetween(from, to));
+            Assert.assertTrue(index.between(from, to).stream().allMatch(p -> p.getAge() >= from && p.getAge() <= to));
+        }
+        Assert.assertEquals(index.histogram().values().stream().mapToInt(Integer::intValue).sum(), people.size());
+    }
+
+    @Test(groups = "regression")
+    public void testResultsOrderedByAgeThenInsertion() {
+        Person first = new Person("First", 40, "first@example.com");
+        Person second = new Person("Second", 40, "second@example.com");
+        Person young = new Person("Young", 31, "young@example.com");
+        AgeIndex index = AgeIndex.of(Arrays.asList(first, young, second));
+
+        Assert.assertEquals(index.olderThan(30), Arrays.asList(young, first, second));
+    }
+
+    @Test(groups = "regression")
+    public void testIncrementalUpdates() {
+        AgeIndex index = new AgeIndex(20, 30);
+        Person old = new Person("Old", 95, "old@example.com");
+        Person baby = new Person("Baby", 0, "baby@example.com");
+
+        index.add(new Person("Adult", 25, "adult@example.com"));
+        Assert.assertEquals(index.countOlderThan(50), 0);
+
+        index.add(old);   // Outside the initial range - index grows
+        index.add(baby);
+        Assert.assertEquals(index.countOlderThan(50), 1);
+        Assert.assertEquals(index.countYoungerThan(18), 1);
+        Assert.assertEquals(index.size(), 3);
+
+        Assert.assertTrue(index.remove(old));
+        Assert.assertFalse(index.remove(old), "Removed person should not be found again");
+        Assert.assertEquals(index.countOlderThan(50), 0);
+        Assert.assertEquals(index.between(0, 100).stream().map(Person::getName).collect(Collectors.toList()),
+                Arrays.asList("Baby", "Adult"));
+    }
+
+    @Test(groups = "regression")
+    public void testReversedBoundsAreEmpty() {
+        AgeIndex index = AgeIndex.of(TestDataLesson2.randomPeople(100, 0, 99));
+
+        Assert.assertEquals(index.countBetween(60, 40), 0);
+        Assert.assertTrue(index.between(60, 40).isEmpty());
+        Assert.assertEquals(index.countBetween(Integer.MAX_VALUE, Integer.MIN_VALUE), 0);
+    }
+
+    @Test(groups = "regression")
+    public void testRemoveManyKeepsOrder() {
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            people.add(new Person("Person " + i % 500, 30 + i % 2, "same@example.com")); // Equal pairs
+        }
+        AgeIndex index = AgeIndex.of(people);
+
+        for (int i = 0; i < 900; i++) {
+            Assert.assertTrue(index.remove(people.get(i)));
+        }
+
+        List<Person> expected = people.subList(900, 1000).stream()
+                .sorted(Comparator.comparingInt(Person::getAge)) // Stable, keeps insertion order per age
+                .collect(Collectors.toList());
+        Assert.assertEquals(index.size(), 100);
+        Assert.assertEquals(index.between(0, 100), expected);
+        Assert.assertEquals(index.countByAge(30), 50);
+    }
+
+    @Test(groups = "regression")
+    public void testRemoveByIdentity() {
+        Person adult = new Person("Adult", 40, "adult@example.com");
+        Person twin = new Person("Adult", 40, "adult@example.com");
+        AgeIndex index = AgeIndex.of(Arrays.asList(adult, new Person("Young", 20, "young@example.com")));
+        index.countByAge(40);
+        index.withAge(40); // Sorts the people into the array
+
+        adult.setName("Renamed"); // Changes the hashCode, the person must still be found
+        Assert.assertFalse(index.remove(twin), "An equal but different person should not be removed");
+        Assert.assertTrue(index.remove(adult));
+        Assert.assertTrue(index.withAge(40).isEmpty());
+
+        index.add(twin);
+        index.add(new Person("Old", 90, "old@example.com")); // Grows the range while twin is pending
+        index.add(new Person("Baby", 1, "baby@example.com"));
+        Assert.assertTrue(index.remove(twin), "A pending person should be removable");
+        Assert.assertEquals(index.between(0, 100).stream().map(Person::getName).collect(Collectors.toList()),
+                Arrays.asList("Baby", "Young", "Old"));
+    }
+}
@@ -0,0 +1,94 @@
+package lesson02;
+
+import com.lesson02.models.Person;
+import com.lesson02.utils.CSVReader;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the different CSVReader parsing modes.
+ * Every mode must return the same people as the classic line-based reader.
+ */
+public class CSVReaderTest {
+
+    private static final String PEOPLE_CSV = "src/test/resources/lesson02/people.csv";
+
+    @Test(groups = "regression")
+    public void testStreamMatchesList() throws IOException {
+        List<Person> expected = CSVReader.readPersonsFromCSV(PEOPLE_CSV);
+
+        try (Stream<Person> stream = CSVReader.streamPersonsFromCSV(PEOPLE_CSV)) {
+            Assert.assertEquals(stream.collect(Collectors.toList()), expected, "Stream should return every row in order");
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testMappedMatchesLineReader() throws IOException {
+        List<Person> expected = CSVReader.readPersonsFromCSV(PEOPLE_CSV);
+        List<Person> actual = CSVReader.readPersonsFromCSVMapped(PEOPLE_CSV);
+
+        Assert.assertEquals(actual, expected, "Mapped parser should return the same people");
+    }
+
+    @Test(groups = "regression")
+    public void testMappedQuotedFields() throws IOException {
+        Path file = writeTempCSV("name,age,email\r\n"
+                + "\"Page, Jimmy\",82,jimmy.page@example.com\r\n"
+                + "\r\n"
+                + "\"Robert \"\"Percy\"\" Plant\", 77 ,\"robert\nplant@example.com\"\n"
+                + "  John Bonham  ,32,john.bonham@example.com");
+
+        List<Person> people = CSVReader.readPersonsFromCSVMapped(file.toString());
+
+        Assert.assertEquals(people.size(), 3, "Blank line should be skipped");
+        Assert.assertEquals(people.get(0), new Person("Page, Jimmy", 82, "jimmy.page@example.com"));
+        Assert.assertEquals(people.get(1), new Person("Robert \"Percy\" Plant", 77, "robert\nplant@example.com"));
+        Assert.assertEquals(people.get(2), new Person("John Bonham", 32, "john.bonham@example.com"));
+    }
+
+    @Test(groups = "regression", expectedExceptions = NumberFormatException.class)
+    public void testMappedInvalidAge() throws IOException {
+        Path file = writeTempCSV("name,age,email\nJohn,thirty,john@example.com\n");
+
+        CSVReader.readPersonsFromCSVMapped(file.toString());
+    }
+
+    @Test(groups = "regression")
+    public void testParallelMatchesLineReader() throws IOException {
+        Path file = writeTempCSV(generateCSV(20_000));
+        List<Person> expected = CSVReader.readPersonsFromCSV(file.toString());
+
+        List<Person> ordered = CSVReader.readPersonsFromCSVParallel(file.toString(), 4, true);
+        List<Person> unordered = CSVReader.readPersonsFromCSVParallel(file.toString(), 4, false);
+
+        Assert.assertEquals(ordered, expected, "Ordered parallel read should keep file order");
+        Assert.assertEquals(new HashSet<>(unordered), new HashSet<>(expected), "Unordered read should return the same people");
+        Assert.assertEquals(unordered.size(), expected.size(), "Unordered read should not lose or duplicate rows");
+    }
+
+    static String generateCSV(int rows) {
+        StringBuilder csv = new StringBuilder("name,age,email\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Person ").append(i).append(',')
+                    .append(18 + i % 70).append(',')
+                    .append("person").append(i).append("@example.com\n");
+        }
+        return csv.toString();
+    }
+
+    static Path writeTempCSV(String content) throws IOException {
+        Path file = Files.createTempFile("people", ".csv");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,188 @@
+package lesson02;
+
+import com.lesson02.PersonStats;
+import com.lesson02.models.Person;
+import com.lesson02.utils.CSVReader;
+import com.lesson02.utils.CSVTailer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for following an append-only CSV file.
+ */
+public class CSVTailerTest {
+
+    @Test(groups = "regression")
+    public void testPollReadsOnlyAppendedRows() throws IOException {
+        Path file = CSVReaderTest.writeTempCSV(CSVReaderTest.generateCSV(10));
+        List<Person> seen = new ArrayList<>();
+
+        try (CSVTailer tailer = CSVTailer.open(file.toString())) {
+            tailer.addListener(listener(seen));
+            Assert.assertEquals(tailer.poll(), 10);
+            Assert.assertEquals(tailer.poll(), 0, "Nothing was appended");
+
+            append(file, "Late Person,99,late@example.com\nOther Person,5,other@example.com\n");
+            Assert.assertEquals(tailer.poll(), 2);
+
+            List<Person> expected = CSVReader.readPersonsFromCSV(file.toString());
+            PersonStats stats = tailer.getStats();
+            Assert.assertEquals(seen, expected);
+            Assert.assertEquals(stats.getCount(), 12);
+            Assert.assertEquals(stats.getMax(), 99);
+            Assert.assertEquals(stats.getMin(), 5);
+            Assert.assertEquals(stats.getMean(), PersonStats.of(expected).getMean(), 1e-9);
+            Assert.assertEquals(stats.getHistogram(), PersonStats.of(expected).getHistogram());
+            Assert.assertEquals(tailer.getOffset(), Files.size(file));
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testHalfWrittenRowWaitsForLineBreak() throws IOException {
+        Path file = CSVReaderTest.writeTempCSV("name,age,email\nJohn Doe,30,john@example.com\nJane");
+
+        try (CSVTailer tailer = CSVTailer.open(file.toString())) {
+            Assert.assertEquals(tailer.poll(), 1);
+
+            append(file, " Smith,25,jane@exam");
+            Assert.assertEquals(tailer.poll(), 0);
+
+            append(file, "ple.com\n");
+            Assert.assertEquals(tailer.poll(), 1);
+            Assert.assertEquals(tailer.getStats().getYoungest().getEmail(), "jane@example.com");
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testBadRowIsSkipped() throws IOException {
+        Path file = CSVReaderTest.writeTempCSV(CSVReaderTest.generateCSV(2));
+        List<Person> seen = new ArrayList<>();
+        List<Long> skippedAt = new ArrayList<>();
+
+        try (CSVTailer tailer = CSVTailer.open(file.toString())) {
+            tailer.addListener(new CSVTailer.Listener() {
+                @Override
+                public void accept(Person person) {
+                    seen.add(person);
+                }
+
+                @Override
+                public void reset() {
+                    seen.clear();
+                }
+
+                @Override
+                public void skipped(long position, RuntimeException error) {
+                    Assert.assertTrue(error instanceof NumberFormatException, error.toString());
+                    skippedAt.add(position);
+                }
+            });
+            Assert.assertEquals(tailer.poll(), 2);
+
+            long badRow = Files.size(file);
+            append(file, "Bad Person,old,bad@example.com\nGood Person,33,good@example.com\n");
+            Assert.assertEquals(tailer.poll(), 1, "Row after the bad one should be read");
+            Assert.assertEquals(tailer.poll(), 0, "Bad row should not be read again");
+
+            append(file, "Next Person,44,next@example.com\n");
+            Assert.assertEquals(tailer.poll(), 1);
+
+            Assert.assertEquals(skippedAt, Collections.singletonList(badRow));
+            Assert.assertEquals(tailer.getSkipped(), 1);
+            Assert.assertEquals(seen.size(), 4);
+            Assert.assertEquals(seen.get(2).getName(), "Good Person");
+            Assert.assertEquals(tailer.getStats().getCount(), 4);
+            Assert.assertEquals(tailer.getOffset(), Files.size(file));
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testTruncationResets() throws IOException {
+        Path file = CSVReaderTest.writeTempCSV(CSVReaderTest.generateCSV(20));
+        List<Person> seen = new ArrayList<>();
+
+        try (CSVTailer tailer = CSVTailer.open(file.toString())) {
+            tailer.addListener(listener(seen));
+            Assert.assertEquals(tailer.poll(), 20);
+
+            Files.write(file, CSVReaderTest.generateCSV(3).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            Assert.assertEquals(tailer.poll(), 3);
+            Assert.assertEquals(tailer.getResets(), 1);
+            Assert.assertEquals(tailer.getStats().getCount(), 3);
+            Assert.assertEquals(seen, CSVReader.readPersonsFromCSV(file.toString()));
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testRewriteOfSameSizeResets() throws IOException {
+        Path file = CSVReaderTest.writeTempCSV("name,age,email\nJohn Doe,30,john@example.com\n");
+
+        try (CSVTailer tailer = CSVTailer.open(file.toString())) {
+            Assert.assertEquals(tailer.poll(), 1);
+
+            Files.write(file, "name,age,email\nJane Doe,40,jane@example.com\nMax Doe,50,max@example.com\n"
+                    .getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+            Assert.assertEquals(tailer.poll(), 2);
+            Assert.assertEquals(tailer.getResets(), 1);
+            Assert.assertEquals(tailer.getStats().getMin(), 40);
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testRotationResets() throws IOException, InterruptedException {
+        Path file = CSVReaderTest.writeTempCSV(CSVReaderTest.generateCSV(50));
+        Path rotated = CSVReaderTest.writeTempCSV(CSVReaderTest.generateCSV(60));
+
+        try (CSVTailer tailer = CSVTailer.open(file.toString())) {
+            Assert.assertEquals(tailer.poll(), 50);
+
+            Files.move(rotated, file, StandardCopyOption.REPLACE_EXISTING);
+            Assert.assertEquals(tailer.awaitChanges(5, TimeUnit.SECONDS), 60);
+            Assert.assertEquals(tailer.getResets(), 1);
+            Assert.assertEquals(tailer.getStats().getCount(), 60);
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testAwaitChangesPicksUpAppend() throws IOException, InterruptedException {
+        Path file = CSVReaderTest.writeTempCSV(CSVReaderTest.generateCSV(1));
+
+        try (CSVTailer tailer = CSVTailer.open(file.toString())) {
+            tailer.poll();
+            append(file, "New Person,44,new@example.com\n");
+
+            Assert.assertEquals(tailer.awaitChanges(5, TimeUnit.SECONDS), 1);
+            Assert.assertEquals(tailer.getStats().getCount(), 2);
+        }
+    }
+
+    private static CSVTailer.Listener listener(List<Person> seen) {
+        return new CSVTailer.Listener() {
+            @Override
+            public void accept(Person person) {
+                seen.add(person);
+            }
+
+            @Override
+            public void reset() {
+                seen.clear();
+            }
+        };
+    }
+
+    private static void append(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,112 @@
+package lesson02;
+
+import com.lesson02.models.CompactPerson;
+import com.lesson02.models.Person;
+import com.lesson02.utils.CSVReader;
+import com.lesson02.utils.CompactPersonLoader;
+import com.lesson02.utils.FootprintReport;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for compact loading with shared email domains.
+ */
+public class CompactPersonLoaderTest {
+
+    @Test(groups = "regression")
+    public void testRoundTripKeepsValues() throws IOException {
+        Path file = CSVReaderTest.writeTempCSV(CSVReaderTest.generateCSV(1000));
+        List<Person> expected = CSVReader.readPersonsFromCSV(file.toString());
+
+        List<CompactPerson> compact = new CompactPersonLoader(true).load(file.toString());
+
+        Assert.assertEquals(compact.stream().map(CompactPerson::toPerson).collect(Collectors.toList()), expected);
+    }
+
+    @Test(groups = "regression")
+    public void testDomainsAreShared() {
+        CompactPersonLoader loader = new CompactPersonLoader();
+        List<CompactPerson> compact = loader.compact(Arrays.asList(
+                new Person("A", 1, "a@" + new String("example.com")),
+                new Person("B", 2, "b@" + new String("example.com")),
+                new Person("C", 3, "c@mail.net")));
+
+        Assert.assertSame(compact.get(0).getDomain(), compact.get(1).getDomain());
+        Assert.assertEquals(loader.getDomainCount(), 2);
+        Assert.assertNotSame(new CompactPersonLoader().canonicalDomain(new String("example.com")),
+                compact.get(0).getDomain(), "Every loader has its own table");
+    }
+
+    @Test(groups = "regression")
+    public void testLatin1NamesAndEdgeCases() {
+        CompactPersonLoader loader = new CompactPersonLoader(true);
+
+        CompactPerson latin1 = loader.compact(new Person("Zoë Müller", 30, "zoe@example.com"));
+        CompactPerson cyrillic = loader.compact(new Person("Иван", 40, "ivan@example.com"));
+        CompactPerson noAt = loader.compact(new Person("No At", 50, "broken"));
+        CompactPerson greekLocal = loader.compact(new Person("G", 55, "αβ@example.com"));
+        CompactPerson empty = loader.compact(new Person(null, 60, null));
+
+        Assert.assertTrue(latin1.hasLatin1Name());
+        Assert.assertEquals(latin1.getName(), "Zoë Müller");
+        Assert.assertFalse(cyrillic.hasLatin1Name());
+        Assert.assertEquals(cyrillic.getName(), "Иван");
+        Assert.assertEquals(noAt.getEmail(), "broken");
+        Assert.assertNull(noAt.getDomain());
+        Assert.assertTrue(noAt.hasLatin1EmailLocal());
+        Assert.assertFalse(greekLocal.hasLatin1EmailLocal());
+        Assert.assertEquals(greekLocal.getEmail(), "αβ@example.com");
+        Assert.assertEquals(empty.toPerson(), new Person(null, 60, null));
+    }
+
+    @Test(groups = "regression")
+    public void testFootprintShrinks() throws IOException {
+        Path file = CSVReaderTest.writeTempCSV(CSVReaderTest.generateCSV(10_000));
+        List<Person> persons = CSVReader.readPersonsFromCSV(file.toString());
+        CompactPersonLoader loader = new CompactPersonLoader(true);
+
+        FootprintReport report = loader.footprint(persons, loader.compact(persons));
+
+        Assert.assertEquals(report.getRecords(), 10_000);
+        Assert.assertTrue(report.getBytesAfter() < report.getBytesBefore(), report.toString());
+        Assert.assertTrue(report.getBytesPerRecordAfter() < report.getBytesPerRecordBefore());
+        Assert.assertTrue(report.getSavedRatio() > 0 && report.getSavedRatio() < 1);
+    }
+
+    @Test(groups = "regression")
+    public void testEmailSavingWithoutLatin1Names() throws IOException {
+        Path file = CSVReaderTest.writeTempCSV(CSVReaderTest.generateCSV(10_000));
+        List<Person> persons = CSVReader.readPersonsFromCSV(file.toString());
+        CompactPersonLoader loader = new CompactPersonLoader(false); // Names stay Strings, only emails shrink
+
+        List<CompactPerson> compact = loader.compact(persons);
+        FootprintReport report = loader.footprint(persons, compact);
+
+        Assert.assertTrue(compact.get(0).hasLatin1EmailLocal());
+        Assert.assertFalse(compact.get(0).hasLatin1Name());
+        // Per record the String header and the "@example.com" chars go away, CompactPerson is 8 bytes bigger
+        double expected = 24 + "@example.com".length() - 8 - 1; // Up to 1 byte for the shared domain table
+        double saved = report.getBytesPerRecordBefore() - report.getBytesPerRecordAfter();
+        Assert.assertTrue(saved > expected, report.toString());
+    }
+
+    @Test(groups = "regression")
+    public void testMissingValues() {
+        CompactPersonLoader loader = new CompactPersonLoader(true);
+        Person nobody = new Person(null, 5, null);
+
+        CompactPerson compact = loader.compact(nobody);
+
+        Assert.assertFalse(compact.hasName());
+        Assert.assertFalse(compact.hasEmail());
+        Assert.assertEquals(compact.toPerson(), nobody);
+        Assert.assertEquals(loader.footprint(List.of(nobody), List.of(compact)).getBytesPerRecordAfter(),
+                16 + 32 + 8 + 64, 0.0, "Only the list, the CompactPerson and the empty domain table");
+    }
+}
@@ -0,0 +1,60 @@
+package lesson02;
+
+import com.lesson02.EmailIndex;
+import com.lesson02.models.Person;
+import com.lesson02.utils.PersonLoader;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for the case-insensitive email lookup index.
+ */
+public class EmailIndexTest {
+
+    @Test(groups = "regression")
+    public void testLookupIgnoresCase() throws IOException {
+        List<Person> people = PersonLoader.loadAll(
+                "src/test/resources/lesson02/people.json",
+                "src/test/resources/lesson02/people.csv");
+        EmailIndex index = EmailIndex.of(people);
+
+        Assert.assertEquals(index.find("JP.JONES@example.com").getName(), "John Paul Jones");
+        Assert.assertEquals(index.find(new StringBuilder("John.Bonham@Example.com")).getAge(), 30,
+                "First person (from JSON) should win for a repeated email");
+        Assert.assertNull(index.find("nobody@example.com"));
+        Assert.assertNull(index.find(null));
+        Assert.assertEquals(index.size(), 5);
+    }
+
+    @Test(groups = "regression")
+    public void testParallelBuildMatchesSequential() {
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            people.add(new Person("Person " + i, i % 90, "Person" + (i % 60_000) + "@Example.com"));
+        }
+        people.add(new Person("No email", 40, null));
+
+        EmailIndex sequential = EmailIndex.of(people);
+        EmailIndex parallel = EmailIndex.ofParallel(people);
+
+        Assert.assertEquals(parallel.size(), 60_000);
+        for (int i = 0; i < 60_000; i += 97) {
+            String email = "person" + i + "@example.COM";
+            Assert.assertSame(parallel.find(email), sequential.find(email));
+            Assert.assertEquals(parallel.find(email).getName(), "Person " + i, "Earliest person should win");
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testNonAsciiEmails() {
+        EmailIndex index = EmailIndex.of(Arrays.asList(new Person("Jürgen", 41, "JÜRGEN@example.de")));
+
+        Assert.assertTrue(index.contains("jürgen@EXAMPLE.de"));
+        Assert.assertFalse(index.contains("jurgen@example.de"));
+    }
+}
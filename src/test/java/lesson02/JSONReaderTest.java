@@ -0,0 +1,124 @@
+package lesson02;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.lesson02.models.Person;
+import com.lesson02.utils.JSONReader;
+import com.lesson02.utils.PersonQuery;
+import com.lesson02.utils.PersonSources;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the JSONReader list and streaming modes.
+ */
+public class JSONReaderTest {
+
+    private static final String PEOPLE_JSON = "src/test/resources/lesson02/people.json";
+
+    @Test(groups = "regression")
+    public void testStreamMatchesList() throws IOException {
+        List<Person> expected = JSONReader.readPersonsFromJSON(PEOPLE_JSON);
+
+        List<Person> actual;
+        try (Stream<Person> stream = JSONReader.streamPersonsFromJSON(PEOPLE_JSON)) {
+            actual = stream.collect(Collectors.toList());
+        }
+
+        Assert.assertEquals(actual, expected, "Streaming mode should return the same people");
+    }
+
+    @Test(groups = "regression", expectedExceptions = IOException.class)
+    public void testRootObjectIsRejected() throws IOException {
+        Path file = writeTempJSON("{\"name\": \"John Doe\", \"age\": 30, \"email\": \"john@example.com\"}");
+
+        JSONReader.streamPersonsFromJSON(file.toString()).close();
+    }
+
+    @Test(groups = "regression")
+    public void testBadElementFailsWithUncheckedIOException() throws IOException {
+        Path file = writeTempJSON("[{\"name\": \"John Doe\", \"age\": 30, \"email\": \"john@example.com\"},"
+                + " {\"name\": \"Bad\", \"age\": \"old\"}]");
+
+        try (Stream<Person> stream = JSONReader.streamPersonsFromJSON(file.toString())) {
+            stream.forEach(person -> Assert.assertEquals(person.getName(), "John Doe"));
+            Assert.fail("Bad age should fail the stream");
+        } catch (UncheckedIOException e) {
+            Assert.assertTrue(e.getCause() instanceof JsonMappingException, e.getCause().toString());
+        }
+        Assert.assertThrows(JsonMappingException.class, () -> PersonSources.read(file.toString()));
+    }
+
+    @Test(groups = "regression")
+    public void testHasNextAfterLastElement() throws IOException {
+        try (Stream<Person> stream = JSONReader.streamPersonsFromJSON(PEOPLE_JSON)) {
+            Iterator<Person> iterator = stream.iterator();
+            for (int i = 0; i < 4; i++) {
+                iterator.next();
+            }
+
+            Assert.assertFalse(iterator.hasNext(), "No people after the last one");
+            Assert.assertFalse(iterator.hasNext(), "Asking again should not read past the array");
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testQueryRejectsBadAge() throws IOException {
+        Path file = writeTempJSON("[{\"name\": \"John Doe\", \"age\": 30},"
+                + " {\"name\": \"Bad\", \"age\": \"old\"}]");
+
+        IOException e = Assert.expectThrows(IOException.class,
+                () -> JSONReader.queryPersonsFromJSON(file.toString(), PersonQuery.all()));
+        Assert.assertTrue(e.getMessage().contains("found old"), e.getMessage());
+    }
+
+    @Test(groups = "regression")
+    public void testQueryRejectsMissingAge() throws IOException {
+        Path file = writeTempJSON("[{\"name\": \"John Doe\", \"email\": \"john@example.com\"}]");
+
+        IOException e = Assert.expectThrows(IOException.class,
+                () -> JSONReader.queryPersonsFromJSON(file.toString(), PersonQuery.all()));
+        Assert.assertTrue(e.getMessage().contains("found none"), e.getMessage());
+    }
+
+    @Test(groups = "regression")
+    public void testQueryRejectsObjectAge() throws IOException {
+        Path file = writeTempJSON("[{\"name\": \"Bad\", \"age\": {\"years\": 30}, \"email\": \"bad@example.com\"}]");
+
+        IOException e = Assert.expectThrows(IOException.class,
+                () -> JSONReader.queryPersonsFromJSON(file.toString(), PersonQuery.all()));
+        Assert.assertTrue(e.getMessage().contains("Expected an int age"), e.getMessage());
+    }
+
+    @Test(groups = "regression")
+    public void testQuerySkipsNestedUnknownFields() throws IOException {
+        Path file = writeTempJSON("[{\"name\": \"John Doe\", \"tags\": [{\"a\": 1}, [2]], \"age\": 30,"
+                + " \"address\": {\"city\": \"London\"}, \"email\": \"john@example.com\"}]");
+
+        Assert.assertEquals(JSONReader.queryPersonsFromJSON(file.toString(), PersonQuery.all()),
+                List.of(new Person("John Doe", 30, "john@example.com")));
+    }
+
+    @Test(groups = "regression", invocationCount = 4, threadPoolSize = 4)
+    public void testSharedReaderIsThreadSafe() throws IOException {
+        try (Stream<Person> stream = JSONReader.streamPersonsFromJSON(PEOPLE_JSON)) {
+            Assert.assertEquals(stream.count(), 4L, "Every thread should read 4 people");
+        }
+    }
+
+    private static Path writeTempJSON(String content) throws IOException {
+        Path file = Files.createTempFile("people", ".json");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -1,16 +1,20 @@
 package lesson02;
 
+import com.lesson02.AgeIndex;
+import com.lesson02.PersonSorter;
+import com.lesson02.PersonStats;
+import com.lesson02.SortOrder;
 import com.lesson02.models.Person;
 import com.lesson02.utils.CSVReader;
-import com.lesson02.utils.JSONReader;
-import com.lesson02.utils.YAMLReader;
+import com.lesson02.utils.PersonCache;
+import com.lesson02.utils.PersonLoader;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -34,7 +38,7 @@ public class PeopleTests {
      */
     @DataProvider(name = "peopleFromJSON")
     public Object[][] getPeopleFromJSON() throws IOException {
-        List<Person> persons = JSONReader.readPersonsFromJSON("src/test/resources/lesson02/people.json");
+        List<Person> persons = PersonCache.shared().get("src/test/resources/lesson02/people.json");
         Object[][] data = new Object[persons.size()][1];
 
         for (int i = 0; i < persons.size(); i++) {
@@ -45,19 +49,15 @@ public class PeopleTests {
     }
 
     /**
-     * DataProvider that reads people data from CSV file.
+     * DataProvider that streams people data from CSV file.
+     * Rows are parsed lazily, so tests start before the whole file is read.
      * Returns 4 people
      */
     @DataProvider(name = "peopleFromCSV")
-    public Object[][] getPeopleFromCSV() throws IOException {
-        List<Person> persons = CSVReader.readPersonsFromCSV("src/test/resources/lesson02/people.csv");
-        Object[][] data = new Object[persons.size()][1];
-
-        for (int i = 0; i < persons.size(); i++) {
-            data[i][0] = persons.get(i);
-        }
-
-        return data;
+    public Iterator<Object[]> getPeopleFromCSV() throws IOException {
+        return CSVReader.streamPersonsFromCSV("src/test/resources/lesson02/people.csv")
+                .map(person -> new Object[]{person})
+                .iterator();
     }
 
     /**
@@ -66,7 +66,7 @@ public class PeopleTests {
      */
     @DataProvider(name = "peopleFromYAML")
     public Object[][] getPeopleFromYAML() throws IOException {
-        List<Person> persons = YAMLReader.readPersonsFromYAML("src/test/resources/lesson02/people.yaml");
+        List<Person> persons = PersonCache.shared().get("src/test/resources/lesson02/people.yaml");
         Object[][] data = new Object[persons.size()][1];
 
         for (int i = 0; i < persons.size(); i++) {
@@ -82,13 +82,10 @@ public class PeopleTests {
      */
     @DataProvider(name = "combinedPeople")
     public Object[][] getCombinedPeopleData() throws IOException {
-        List<Person> allPersons = new ArrayList<>();
-
-        // Add CSV data
-        allPersons.addAll(CSVReader.readPersonsFromCSV("src/test/resources/lesson02/people.csv"));
-
-        // Add YAML data
-        allPersons.addAll(YAMLReader.readPersonsFromYAML("src/test/resources/lesson02/people.yaml"));
+        // Load CSV and YAML data concurrently, format is detected from the file
+        List<Person> allPersons = PersonLoader.loadAll(
+                "src/test/resources/lesson02/people.csv",
+                "src/test/resources/lesson02/people.yaml");
 
         Object[][] data = new Object[allPersons.size()][1];
 
@@ -105,17 +102,11 @@ public class PeopleTests {
      */
     @DataProvider(name = "combinedPeopleAll")
     public Object[][] getCombinedPeopleDataFromAll() throws IOException {
-        List<Person> allPersons = new ArrayList<>();
-
-        // Add CSV data
-        allPersons.addAll(CSVReader.readPersonsFromCSV("src/test/resources/lesson02/people.csv"));
-
-        // Add YAML data
-        allPersons.addAll(YAMLReader.readPersonsFromYAML("src/test/resources/lesson02/people.yaml"));
-
-        //Add JSON data
-
-        allPersons.addAll(JSONReader.readPersonsFromJSON("src/test/resources/lesson02/people.json"));
+        // Load CSV, YAML and JSON data concurrently, format is detected from the file
+        List<Person> allPersons = PersonLoader.loadAll(
+                "src/test/resources/lesson02/people.csv",
+                "src/test/resources/lesson02/people.yaml",
+                "src/test/resources/lesson02/people.json");
 
         Object[][] data = new Object[allPersons.size()][1];
 
@@ -204,8 +195,8 @@ public class PeopleTests {
     public void testAverageAgeCalculation() throws IOException {
         // Load all people from both sources
         List<Person> people = new ArrayList<>();
-        people.addAll(CSVReader.readPersonsFromCSV("src/test/resources/lesson02/people.csv"));
-        people.addAll(YAMLReader.readPersonsFromYAML("src/test/resources/lesson02/people.yaml"));
+        people.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.csv"));
+        people.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.yaml"));
 
         // Calculate average age
         double averageAge = calculateAverageAge(people);
@@ -229,8 +220,8 @@ public class PeopleTests {
     public void testFindOldestPerson() throws IOException {
         // Load all people from both sources
         List<Person> people = new ArrayList<>();
-        people.addAll(CSVReader.readPersonsFromCSV("src/test/resources/lesson02/people.csv"));
-        people.addAll(YAMLReader.readPersonsFromYAML("src/test/resources/lesson02/people.yaml"));
+        people.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.csv"));
+        people.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.yaml"));
 
         // Find oldest person
         Person oldest = findOldestPerson(people);
@@ -256,8 +247,8 @@ public class PeopleTests {
     public void testFindYoungestPerson() throws IOException {
         // Load all people from both sources
         List<Person> people = new ArrayList<>();
-        people.addAll(CSVReader.readPersonsFromCSV("src/test/resources/lesson02/people.csv"));
-        people.addAll(YAMLReader.readPersonsFromYAML("src/test/resources/lesson02/people.yaml"));
+        people.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.csv"));
+        people.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.yaml"));
 
         // Find youngest person
         Person youngest = findYoungestPerson(people);
@@ -314,8 +305,8 @@ public class PeopleTests {
     public void testFirstLastPersonForAscSorting() throws IOException {
         // Load all people from both sources
         List<Person> allPeople = new ArrayList<>();
-        allPeople.addAll(CSVReader.readPersonsFromCSV("src/test/resources/lesson02/people.csv"));
-        allPeople.addAll(YAMLReader.readPersonsFromYAML("src/test/resources/lesson02/people.yaml"));
+        allPeople.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.csv"));
+        allPeople.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.yaml"));
 
         //Sort list with my method
         Object[][] ascData = getSortedPeopleList(allPeople, SortOrder.ASC);
@@ -342,8 +333,8 @@ public class PeopleTests {
     public void testFirstLastPersonForDescSorting() throws IOException {
         // Load all people from both sources
         List<Person> allPeople = new ArrayList<>();
-        allPeople.addAll(CSVReader.readPersonsFromCSV("src/test/resources/lesson02/people.csv"));
-        allPeople.addAll(YAMLReader.readPersonsFromYAML("src/test/resources/lesson02/people.yaml"));
+        allPeople.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.csv"));
+        allPeople.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.yaml"));
 
         //Sort list with my method
         Object[][] ascData = getSortedPeopleList(allPeople, SortOrder.DESC);
@@ -369,16 +360,11 @@ public class PeopleTests {
     public void testPeopleOlderThan30 () throws IOException {
         //Load all peoples
         List<Person> allPeople = new ArrayList<>();
-        allPeople.addAll(CSVReader.readPersonsFromCSV("src/test/resources/lesson02/people.csv"));
-        allPeople.addAll(YAMLReader.readPersonsFromYAML("src/test/resources/lesson02/people.yaml"));
-
-        //Filter allPeople list and if age >= 30 to add back to list
-        List<Person> olderThan30 = new ArrayList<>();
-        for (Person person : allPeople){
-            if (person.getAge() > 30){
-                olderThan30.add(person);
-            }
-        }
+        allPeople.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.csv"));
+        allPeople.addAll(PersonCache.shared().get("src/test/resources/lesson02/people.yaml"));
+
+        //Index allPeople by age once and take everybody older than 30 from the index
+        List<Person> olderThan30 = AgeIndex.of(allPeople).olderThan(30);
 
         // print number of people and do assertion
         System.out.println("Older than 30 people found:" + olderThan30.size());
@@ -401,12 +387,7 @@ public class PeopleTests {
             return 0;
         }
 
-        int totalAge = 0;
-        for (Person person : people) {
-            totalAge += person.getAge();
-        }
-
-        return (double) totalAge / people.size();
+        return PersonStats.of(people).getMean(); // long sum, no int overflow
     }
 
     /**
@@ -420,9 +401,7 @@ public class PeopleTests {
             return null;
         }
 
-        return people.stream()
-                .max(Comparator.comparingInt(Person::getAge))
-                .orElse(null);
+        return PersonStats.of(people).getOldest();
     }
 
     /**
@@ -436,15 +415,10 @@ public class PeopleTests {
             return null;
         }
 
-        return people.stream()
-                .min(Comparator.comparingInt(Person::getAge))
-                .orElse(null);
+        return PersonStats.of(people).getYoungest();
     }
 
 
-    public enum SortOrder{
-    ASC, DESC
-    }
     /**
      * Combine all People in one List and sort it asc/desc
      *
@@ -456,18 +430,12 @@ public class PeopleTests {
             return null;
         }
 
-        if(order == SortOrder.ASC){
-           people.sort(Comparator.comparingInt(Person::getAge)); // asc list
-        }
-
-        else if (order == SortOrder.DESC){
-            people.sort(Comparator.comparingInt(Person::getAge).reversed()); // desc list
-        }
+        List<Person> sorted = PersonSorter.sortByAge(people, order); // counting sort, same order as the comparator
 
-        Object[][] data = new Object[people.size()][1];
+        Object[][] data = new Object[sorted.size()][1];
 
-        for (int i = 0; i < people.size(); i++) {
-            data[i][0] = people.get(i);
+        for (int i = 0; i < sorted.size(); i++) {
+            data[i][0] = sorted.get(i);
         }
 
         return data;
@@ -0,0 +1,86 @@
+package lesson02;
+
+import com.lesson02.models.Person;
+import com.lesson02.utils.PersonCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests for the content-keyed parse cache.
+ */
+public class PersonCacheTest {
+
+    private static final String PEOPLE_CSV = "src/test/resources/lesson02/people.csv";
+    private static final String PEOPLE_YAML = "src/test/resources/lesson02/people.yaml";
+
+    @Test(groups = "regression")
+    public void testHitReturnsSamePeople() throws IOException {
+        PersonCache cache = new PersonCache(PersonCache.DEFAULT_MAX_BYTES);
+
+        List<Person> first = cache.get(PEOPLE_CSV);
+        List<Person> second = cache.get("src/test/resources/lesson02/../lesson02/people.csv");
+
+        Assert.assertEquals(second, first, "Same canonical file should be served from the cache");
+        Assert.assertEquals(cache.getMisses(), 1, "Only the first call should parse the file");
+        Assert.assertEquals(cache.getHits(), 1, "Second call should be a hit");
+    }
+
+    @Test(groups = "regression")
+    public void testCallerChangesDoNotLeakIntoCache() throws IOException {
+        PersonCache cache = new PersonCache(PersonCache.DEFAULT_MAX_BYTES);
+        List<Person> first = cache.get(PEOPLE_CSV);
+        String name = first.get(0).getName();
+
+        first.get(0).setName("Changed");
+        first.get(0).setAge(-1);
+
+        List<Person> second = cache.get(PEOPLE_CSV);
+        Assert.assertNotSame(second.get(0), first.get(0), "Every caller should get its own Person objects");
+        Assert.assertEquals(second.get(0).getName(), name);
+        Assert.assertTrue(second.get(0).getAge() >= 0);
+    }
+
+    @Test(groups = "regression", expectedExceptions = UnsupportedOperationException.class)
+    public void testCachedListIsImmutable() throws IOException {
+        new PersonCache(PersonCache.DEFAULT_MAX_BYTES).get(PEOPLE_CSV).clear();
+    }
+
+    @Test(groups = "regression")
+    public void testChangedFileIsReparsed() throws IOException {
+        PersonCache cache = new PersonCache(PersonCache.DEFAULT_MAX_BYTES);
+        Path file = Files.createTempFile("people", ".csv");
+        file.toFile().deleteOnExit();
+
+        Files.write(file, "name,age,email\nJohn,30,john@example.com\n".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(cache.get(file.toString()).size(), 1);
+
+        Files.write(file, "name,age,email\nJohn,30,john@example.com\nJane,25,jane@example.com\n"
+                .getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(cache.get(file.toString()).size(), 2, "Changed file should be parsed again");
+        Assert.assertEquals(cache.getMisses(), 2);
+        Assert.assertEquals(cache.size(), 1, "Old version should be replaced");
+    }
+
+    @Test(groups = "regression")
+    public void testLeastRecentlyUsedIsEvicted() throws IOException {
+        PersonCache measure = new PersonCache(PersonCache.DEFAULT_MAX_BYTES);
+        measure.get(PEOPLE_CSV);
+        long oneFile = measure.getEstimatedBytes();
+        PersonCache cache = new PersonCache(oneFile + oneFile / 2);
+
+        cache.get(PEOPLE_CSV);
+        cache.get(PEOPLE_YAML); // Same people, so about the same size - CSV must go
+
+        Assert.assertEquals(cache.size(), 1, "Budget fits only one file");
+        Assert.assertEquals(cache.getEvictions(), 1);
+
+        cache.get(PEOPLE_YAML);
+        Assert.assertEquals(cache.getHits(), 1, "Most recent file should stay cached");
+    }
+}
@@ -0,0 +1,82 @@
+package lesson02;
+
+import com.lesson02.PersonDeduplicator;
+import com.lesson02.models.Person;
+import com.lesson02.utils.PersonCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for cross-source deduplication of people.
+ */
+public class PersonDeduplicatorTest {
+
+    @Test(groups = "regression")
+    public void testCombinedSourcesByEmail() throws IOException {
+        PersonDeduplicator dedup = PersonDeduplicator.byEmail();
+
+        List<Person> unique = new ArrayList<>();
+        unique.addAll(dedup.deduplicate("csv", PersonCache.shared().get("src/test/resources/lesson02/people.csv")));
+        unique.addAll(dedup.deduplicate("yaml", PersonCache.shared().get("src/test/resources/lesson02/people.yaml")));
+        unique.addAll(dedup.deduplicate("json", PersonCache.shared().get("src/test/resources/lesson02/people.json")));
+
+        System.out.println(dedup);
+
+        // JSON has a different email only for John Paul Jones
+        Assert.assertEquals(unique.size(), 5, "Only people with a new email should be kept");
+        Assert.assertEquals(unique.get(4).getEmail(), "jp.jones@example.com");
+        Assert.assertEquals(dedup.getDroppedBySource().get("csv"), Long.valueOf(0));
+        Assert.assertEquals(dedup.getDroppedBySource().get("yaml"), Long.valueOf(4));
+        Assert.assertEquals(dedup.getDroppedBySource().get("json"), Long.valueOf(3));
+        Assert.assertEquals(dedup.getKept(), 5);
+    }
+
+    @Test(groups = "regression")
+    public void testEmailIsNormalized() {
+        PersonDeduplicator dedup = PersonDeduplicator.byEmail();
+
+        List<Person> unique = dedup.deduplicate("test", Arrays.asList(
+                new Person("A", 1, "John@Example.com"),
+                new Person("B", 2, "  john@example.COM "),
+                new Person("C", 3, "jane@example.com"),
+                new Person("D", 4, null),
+                new Person("E", 5, null)));
+
+        Assert.assertEquals(unique.stream().map(Person::getName).collect(Collectors.toList()),
+                Arrays.asList("A", "C", "D", "E"), "People without email should never be dropped");
+    }
+
+    @Test(groups = "regression")
+    public void testCustomKey() {
+        PersonDeduplicator dedup = PersonDeduplicator.byKey(Person::getName);
+
+        long kept = dedup.deduplicate("test", Arrays.asList(
+                new Person("Jimmy Page", 82, "a@example.com"),
+                new Person("jimmy page", 30, "b@example.com")).stream()).count();
+
+        Assert.assertEquals(kept, 1);
+    }
+
+    @Test(groups = "regression")
+    public void testExactAndApproximateOnLargeInput() {
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            people.add(new Person("Person " + i, 30, "person" + (i % 100_000) + "@example.com"));
+        }
+
+        PersonDeduplicator exact = PersonDeduplicator.byEmail();
+        PersonDeduplicator approximate = PersonDeduplicator.approximate(100_000, 0.001);
+
+        Assert.assertEquals(exact.deduplicate("big", people).size(), 100_000);
+
+        int approximateKept = approximate.deduplicate("big", people).size();
+        Assert.assertTrue(approximateKept <= 100_000, "Bloom filter never keeps a real duplicate");
+        Assert.assertTrue(approximateKept > 99_500, "Bloom filter should drop only about 0.1% by mistake, kept " + approximateKept);
+    }
+}
@@ -0,0 +1,82 @@
+package lesson02;
+
+import com.lesson02.PersonGroupBy;
+import com.lesson02.PersonStats;
+import com.lesson02.models.Person;
+import com.lesson02.models.PersonTable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for group-by reports over streams and tables.
+ */
+public class PersonGroupByTest {
+
+    private static final List<Person> PEOPLE = TestDataLesson2.peopleWithDomains(50_000);
+
+    @Test(groups = "regression")
+    public void testCountByDomainMatchesGroupingBy() {
+        Map<String, Long> expected = PEOPLE.stream().collect(Collectors.groupingBy(
+                person -> domain(person.getEmail()), Collectors.counting()));
+
+        PersonGroupBy<String> byDomain = PersonGroupBy.by(PersonGroupBy.EMAIL_DOMAIN);
+
+        Assert.assertEquals(byDomain.count(PEOPLE.stream()), expected);
+        Assert.assertEquals(byDomain.count(PEOPLE.parallelStream()), expected);
+        Assert.assertEquals(byDomain.count(PersonTable.of(PEOPLE)), expected);
+    }
+
+    @Test(groups = "regression")
+    public void testStatsByDecadeMatchesGroupingBy() {
+        Map<Integer, Double> expected = PEOPLE.stream().collect(Collectors.groupingBy(
+                person -> person.getAge() / 10 * 10, Collectors.averagingInt(Person::getAge)));
+
+        PersonGroupBy<Integer> byDecade = PersonGroupBy.by(PersonGroupBy.AGE_DECADE);
+        Map<Integer, PersonStats> parallel = byDecade.stats(PEOPLE.parallelStream());
+        Map<Integer, PersonStats> table = byDecade.stats(PersonTable.of(PEOPLE));
+
+        Assert.assertEquals(parallel.keySet(), expected.keySet());
+        Assert.assertEquals(table.keySet(), expected.keySet());
+        for (Map.Entry<Integer, Double> entry : expected.entrySet()) {
+            PersonStats stats = parallel.get(entry.getKey());
+            Assert.assertEquals(stats.getMean(), entry.getValue(), 1e-9);
+            Assert.assertEquals(table.get(entry.getKey()).getCount(), stats.getCount());
+            Assert.assertEquals(table.get(entry.getKey()).getMax(), stats.getMax());
+            Assert.assertTrue(stats.getMin() >= entry.getKey() && stats.getMax() < entry.getKey() + 10);
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testCustomKeyAndAggregator() {
+        Map<Boolean, List<String>> expected = PEOPLE.stream().collect(Collectors.partitioningBy(
+                person -> person.getAge() >= 60, Collectors.mapping(Person::getName, Collectors.toList())));
+
+        Map<Boolean, List<String>> actual = PersonGroupBy.<Boolean>by(person -> person.getAge() >= 60)
+                .aggregate(PEOPLE.parallelStream(), Collectors.mapping(Person::getName, Collectors.toList()));
+
+        Assert.assertEquals(actual, expected, "Partial results should be merged in encounter order");
+    }
+
+    @Test(groups = "regression")
+    public void testMissingEmailGoesToEmptyDomain() {
+        List<Person> people = new ArrayList<>();
+        people.add(new Person("No Email", 30, null));
+        people.add(new Person("No At", 40, "broken"));
+        people.add(new Person("Upper", 50, "a@EXAMPLE.com"));
+
+        Map<String, Long> counts = PersonGroupBy.by(PersonGroupBy.EMAIL_DOMAIN).count(people.stream());
+
+        Assert.assertEquals(counts.get(""), Long.valueOf(2));
+        Assert.assertEquals(counts.get("example.com"), Long.valueOf(1));
+    }
+
+    private static String domain(String email) {
+        return email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+}
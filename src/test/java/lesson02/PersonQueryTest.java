@@ -0,0 +1,90 @@
+package lesson02;
+
+import com.lesson02.models.Person;
+import com.lesson02.utils.PersonQuery;
+import com.lesson02.utils.PersonSnapshotWriter;
+import com.lesson02.utils.PersonSources;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for queries pushed down into the readers.
+ */
+public class PersonQueryTest {
+
+    @DataProvider(name = "peopleFiles", parallel = true)
+    public Object[][] peopleFiles() throws IOException {
+        return new Object[][]{
+                {"src/test/resources/lesson02/people.csv"},
+                {"src/test/resources/lesson02/people.json"},
+                {"src/test/resources/lesson02/people.yaml"},
+                {snapshotOf("src/test/resources/lesson02/people.csv")}
+        };
+    }
+
+    @Test(dataProvider = "peopleFiles", groups = "regression")
+    public void testAgeFilterMatchesFullRead(String filePath) throws IOException {
+        PersonQuery query = PersonQuery.all().ageAbove(30);
+
+        Assert.assertEquals(PersonSources.query(filePath, query), filterFullRead(filePath, query));
+    }
+
+    @Test(dataProvider = "peopleFiles", groups = "regression")
+    public void testEmailFilterAndProjection(String filePath) throws IOException {
+        PersonQuery query = PersonQuery.all()
+                .whereEmail(email -> email != null && email.startsWith("j"))
+                .select(PersonQuery.Column.NAME);
+
+        List<Person> result = PersonSources.query(filePath, query);
+
+        Assert.assertEquals(result, filterFullRead(filePath, query));
+        for (Person person : result) {
+            Assert.assertNull(person.getEmail(), "Email is not selected");
+            Assert.assertEquals(person.getAge(), 0, "Age is not selected");
+        }
+    }
+
+    @Test(dataProvider = "peopleFiles", groups = "regression")
+    public void testLimitStopsEarly(String filePath) throws IOException {
+        PersonQuery query = PersonQuery.all().ageBetween(0, 200).limit(2);
+
+        List<Person> result = PersonSources.query(filePath, query);
+
+        Assert.assertEquals(result.size(), 2);
+        Assert.assertEquals(result, filterFullRead(filePath, query));
+        Assert.assertTrue(PersonSources.query(filePath, query.limit(0)).isEmpty());
+    }
+
+    @Test(groups = "regression")
+    public void testQueriesAreImmutable() {
+        PersonQuery base = PersonQuery.all();
+        PersonQuery filtered = base.ageAbove(50).limit(10);
+
+        Assert.assertTrue(base.testAge(10));
+        Assert.assertFalse(filtered.testAge(10));
+        Assert.assertEquals(base.getLimit(), Long.MAX_VALUE);
+        Assert.assertEquals(filtered.getLimit(), 10);
+    }
+
+    private static List<Person> filterFullRead(String filePath, PersonQuery query) throws IOException {
+        return PersonSources.read(filePath).stream()
+                .filter(query::matches)
+                .limit(query.getLimit())
+                .map(query::project)
+                .collect(Collectors.toList());
+    }
+
+    private static String snapshotOf(String filePath) throws IOException {
+        Path snapshot = Files.createTempFile("people", ".psnp");
+        snapshot.toFile().deleteOnExit();
+        PersonSnapshotWriter.convert(filePath, snapshot.toString());
+        return snapshot.toString();
+    }
+}
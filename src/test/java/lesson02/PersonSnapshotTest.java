@@ -0,0 +1,133 @@
+package lesson02;
+
+import com.lesson02.models.Person;
+import com.lesson02.utils.PersonSnapshot;
+import com.lesson02.utils.PersonSnapshotWriter;
+import com.lesson02.utils.PersonSources;
+import com.lesson02.utils.StandardPersonSource;
+import com.lesson02.utils.YAMLReader;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for writing and memory-mapping binary people snapshots.
+ */
+public class PersonSnapshotTest {
+
+    @Test(groups = "regression")
+    public void testConvertAndReload() throws IOException {
+        String snapshotPath = tempSnapshot();
+        List<Person> expected = YAMLReader.readPersonsFromYAML("src/test/resources/lesson02/people.yaml");
+
+        PersonSnapshotWriter.convert("src/test/resources/lesson02/people.yaml", snapshotPath);
+
+        try (PersonSnapshot snapshot = PersonSnapshot.open(snapshotPath)) {
+            Assert.assertEquals(snapshot.size(), expected.size(), "Snapshot should keep every person");
+            Assert.assertEquals(snapshot.getAge(1), 82, "Age column should be readable without decoding");
+            Assert.assertEquals(snapshot.getName(3), "John Bonham");
+            Assert.assertEquals(snapshot.toList(), expected, "Snapshot should decode to the same people");
+        }
+        Assert.assertEquals(PersonSources.forFile(snapshotPath), StandardPersonSource.SNAPSHOT);
+    }
+
+    @Test(groups = "regression")
+    public void testUnicodeAndEmptyValues() throws IOException {
+        String snapshotPath = tempSnapshot();
+        List<Person> expected = Arrays.asList(
+                new Person("Jürgen Straße", 41, "jurgen@example.de"),
+                new Person("", 0, "nobody@example.com"),
+                new Person("李雷", 23, ""));
+
+        PersonSnapshotWriter.write(expected, snapshotPath);
+
+        Assert.assertEquals(PersonSources.read(snapshotPath), expected, "Snapshot should keep UTF-8 and empty values");
+    }
+
+    @Test(groups = "regression")
+    public void testNullValuesRoundTrip() throws IOException {
+        String snapshotPath = tempSnapshot();
+        List<Person> expected = Arrays.asList(
+                new Person(null, 41, "nobody@example.com"),
+                new Person("No Email", 30, null),
+                new Person(null, 0, null),
+                new Person("", 1, ""));
+
+        PersonSnapshotWriter.write(expected, snapshotPath);
+
+        try (PersonSnapshot snapshot = PersonSnapshot.open(snapshotPath)) {
+            Assert.assertNull(snapshot.getName(0));
+            Assert.assertEquals(snapshot.getName(3), "", "Empty value should not turn into null");
+            Assert.assertEquals(snapshot.toList(), expected, "Snapshot should keep null values");
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testRejectsCorruptedOffsets() throws IOException {
+        String snapshotPath = tempSnapshot();
+        PersonSnapshotWriter.convert("src/test/resources/lesson02/people.yaml", snapshotPath);
+        byte[] valid = Files.readAllBytes(Paths.get(snapshotPath));
+        int nameOffsets = ByteBuffer.wrap(valid).getInt(24);
+
+        byte[] backwards = valid.clone();
+        ByteBuffer.wrap(backwards).putInt(nameOffsets + 8, 0); // Name 2 starts before name 1 ends
+        byte[] outside = valid.clone();
+        ByteBuffer.wrap(outside).putInt(24, valid.length); // Name offsets after the end of file
+
+        byte[] textEnd = valid.clone();
+        ByteBuffer.wrap(textEnd).putInt(nameOffsets + 16, 1); // End of text data before name 1
+
+        for (byte[] corrupted : Arrays.asList(outside, textEnd)) {
+            Files.write(Paths.get(snapshotPath), corrupted);
+            Assert.assertThrows(IOException.class, () -> PersonSnapshot.open(snapshotPath).close());
+        }
+
+        Files.write(Paths.get(snapshotPath), backwards);
+        try (PersonSnapshot snapshot = PersonSnapshot.open(snapshotPath)) { // Records are checked lazily
+            Assert.assertEquals(snapshot.get(0).getName(), "Robert Plant", "Valid records should stay readable");
+            Assert.assertThrows(UncheckedIOException.class, () -> snapshot.get(1));
+            Assert.assertThrows(IOException.class, snapshot::validate);
+        }
+    }
+
+    @Test(groups = "regression")
+    public void testLargeSnapshot() throws IOException {
+        String snapshotPath = tempSnapshot();
+        List<Person> expected = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            expected.add(new Person("Person " + i, i % 100, "person" + i + "@example.com"));
+        }
+        // Longer than the write buffer
+        expected.set(10, new Person(String.join("", Collections.nCopies(40_000, "ü")), 10, "long@example.com"));
+
+        PersonSnapshotWriter.write(expected.stream(), snapshotPath);
+
+        try (PersonSnapshot snapshot = PersonSnapshot.open(snapshotPath)) {
+            Assert.assertEquals(snapshot.get(4_321), expected.get(4_321));
+            Assert.assertEquals(snapshot.get(10), expected.get(10));
+            Assert.assertEquals(snapshot.get(11), expected.get(11));
+            Assert.assertEquals(snapshot.ageColumn().getInt(4 * 4_999), 99);
+        }
+    }
+
+    @Test(groups = "regression", expectedExceptions = IOException.class)
+    public void testRejectsNonSnapshot() throws IOException {
+        PersonSnapshot.open("src/test/resources/lesson02/people.csv");
+    }
+
+    private static String tempSnapshot() throws IOException {
+        Path file = Files.createTempFile("people", ".psnp");
+        file.toFile().deleteOnExit();
+        return file.toString();
+    }
+}
@@ -0,0 +1,49 @@
+package lesson02;
+
+import com.lesson02.PersonSorter;
+import com.lesson02.SortOrder;
+import com.lesson02.models.Person;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tests that the counting sort gives exactly the comparator order, including ties.
+ */
+public class PersonSorterTest {
+
+    @DataProvider(name = "sortCases")
+    public Object[][] sortCases() {
+        return new Object[][]{
+                {100, SortOrder.ASC},
+                {100, SortOrder.DESC},
+                {200_000, SortOrder.ASC},
+                {200_000, SortOrder.DESC}
+        };
+    }
+
+    @Test(groups = "regression", dataProvider = "sortCases")
+    public void testSameOrderAsComparator(int size, SortOrder order) {
+        List<Person> people = TestDataLesson2.randomPeople(size, 0, 120);
+
+        List<Person> expected = new ArrayList<>(people);
+        Comparator<Person> byAge = Comparator.comparingInt(Person::getAge);
+        expected.sort(order == SortOrder.ASC ? byAge : byAge.reversed());
+
+        TestDataLesson2.assertSameObjects(PersonSorter.sortByAge(people, order), expected);
+        TestDataLesson2.assertSameObjects(PersonSorter.parallelSortByAge(people, order), expected);
+    }
+
+    @Test(groups = "regression")
+    public void testWideAgeRangeFallsBack() {
+        List<Person> people = TestDataLesson2.randomPeople(1_000, -1_000_000, 1_000_000);
+
+        List<Person> expected = new ArrayList<>(people);
+        expected.sort(Comparator.comparingInt(Person::getAge));
+
+        TestDataLesson2.assertSameObjects(PersonSorter.sortByAge(people, SortOrder.ASC), expected);
+    }
+}
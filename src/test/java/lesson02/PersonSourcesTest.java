@@ -0,0 +1,84 @@
+package lesson02;
+
+import com.lesson02.models.Person;
+import com.lesson02.utils.CSVReader;
+import com.lesson02.utils.JSONReader;
+import com.lesson02.utils.PersonLoader;
+import com.lesson02.utils.PersonSources;
+import com.lesson02.utils.StandardPersonSource;
+import com.lesson02.utils.YAMLReader;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests for format detection and concurrent multi-file loading.
+ */
+public class PersonSourcesTest {
+
+    private static final String PEOPLE_CSV = "src/test/resources/lesson02/people.csv";
+    private static final String PEOPLE_JSON = "src/test/resources/lesson02/people.json";
+    private static final String PEOPLE_YAML = "src/test/resources/lesson02/people.yaml";
+
+    @Test(groups = "smoke")
+    public void testFormatByExtension() throws IOException {
+        Assert.assertEquals(PersonSources.forFile(PEOPLE_CSV), StandardPersonSource.CSV);
+        Assert.assertEquals(PersonSources.forFile(PEOPLE_JSON), StandardPersonSource.JSON);
+        Assert.assertEquals(PersonSources.forFile(PEOPLE_YAML), StandardPersonSource.YAML);
+    }
+
+    @Test(groups = "regression")
+    public void testFormatByContent() throws IOException {
+        Assert.assertEquals(PersonSources.forFile(copyWithoutExtension(PEOPLE_CSV)), StandardPersonSource.CSV);
+        Assert.assertEquals(PersonSources.forFile(copyWithoutExtension(PEOPLE_JSON)), StandardPersonSource.JSON);
+        Assert.assertEquals(PersonSources.forFile(copyWithoutExtension(PEOPLE_YAML)), StandardPersonSource.YAML);
+    }
+
+    @Test(groups = "regression")
+    public void testLoadAllKeepsFileOrder() throws IOException {
+        List<Person> expected = new ArrayList<>();
+        expected.addAll(CSVReader.readPersonsFromCSV(PEOPLE_CSV));
+        expected.addAll(YAMLReader.readPersonsFromYAML(PEOPLE_YAML));
+        expected.addAll(JSONReader.readPersonsFromJSON(PEOPLE_JSON));
+
+        List<Person> actual = PersonLoader.loadAll(Arrays.asList(PEOPLE_CSV, PEOPLE_YAML, PEOPLE_JSON), 3);
+
+        Assert.assertEquals(actual, expected, "Concurrent loading should merge files in the given order");
+    }
+
+    @Test(groups = "regression")
+    public void testStreamAllOpensFilesLazily() throws IOException {
+        List<Person> csv = CSVReader.readPersonsFromCSV(PEOPLE_CSV);
+        List<String> files = Arrays.asList(PEOPLE_CSV, PEOPLE_YAML, "missing.csv");
+
+        try (Stream<Person> people = PersonLoader.streamAll(files)) {
+            Assert.assertEquals(people.limit(csv.size()).collect(Collectors.toList()), csv,
+                    "The missing file should not be opened before the stream reaches it");
+        }
+        try (Stream<Person> people = PersonLoader.streamAll(files)) {
+            Assert.assertThrows(UncheckedIOException.class, people::count);
+        }
+        try (Stream<Person> people = PersonLoader.streamAll(Arrays.asList(PEOPLE_CSV, PEOPLE_YAML, PEOPLE_JSON))) {
+            Assert.assertEquals(people.collect(Collectors.toList()),
+                    PersonLoader.loadAll(Arrays.asList(PEOPLE_CSV, PEOPLE_YAML, PEOPLE_JSON)));
+        }
+    }
+
+    private static String copyWithoutExtension(String filePath) throws IOException {
+        Path copy = Files.createTempFile("people", ".data");
+        copy.toFile().deleteOnExit();
+        Files.copy(Paths.get(filePath), copy, StandardCopyOption.REPLACE_EXISTING);
+        return copy.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package lesson02;
+
+import com.lesson02.PersonStats;
+import com.lesson02.models.Person;
+import com.lesson02.models.PersonTable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for the single-pass PersonStats engine.
+ */
+public class PersonStatsTest {
+
+    private static final List<Person> PEOPLE = Arrays.asList(
+            new Person("Robert Plant", 77, "robert.plant@example.com"),
+            new Person("Jimmy Page", 82, "jimmy.page@example.com"),
+            new Person("John Paul Jones", 80, "john.paul.jones@example.com"),
+            new Person("John Bonham", 32, "john.bonham@example.com"),
+            new Person("Young Jimmy", 82, "young.jimmy@example.com"));
+
+    @Test(groups = "regression")
+    public void testSinglePassValues() {
+        PersonStats stats = PersonStats.of(PEOPLE);
+
+        Assert.assertEquals(stats.getCount(), 5);
+        Assert.assertEquals(stats.getSum(), 353);
+        Assert.assertEquals(stats.getMin(), 32);
+        Assert.assertEquals(stats.getMax(), 82);
+        Assert.assertEquals(stats.getMean(), 70.6, 0.0001);
+        Assert.assertEquals(stats.getVariance(), naiveVariance(PEOPLE), 0.0001);
+        Assert.assertEquals(stats.getMedian(), 80);
+        Assert.assertEquals(stats.getPercentile(0), 32);
+        Assert.assertEquals(stats.getPercentile(100), 82);
+        Assert.assertEquals(stats.getOldest().getName(), "Jimmy Page", "First oldest should win on ties");
+        Assert.assertEquals(stats.getYoungest().getName(), "John Bonham");
+    }
+
+    @Test(groups = "regression")
+    public void testSumDoesNotOverflow() {
+        PersonStats stats = new PersonStats();
+        stats.accept(Integer.MAX_VALUE);
+        stats.accept(Integer.MAX_VALUE);
+
+        Assert.assertEquals(stats.getSum(), 2L * Integer.MAX_VALUE);
+        Assert.assertEquals(stats.getMean(), Integer.MAX_VALUE, 0.0001);
+    }
+
+    @Test(groups = "regression")
+    public void testParallelStreamMatchesSequential() {
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            people.add(new Person("Person " + i, (i * 31) % 97, "person" + i + "@example.com"));
+        }
+
+        PersonStats sequential = PersonStats.of(people);
+        PersonStats parallel = PersonStats.of(people.parallelStream());
+        PersonStats table = PersonStats.of(PersonTable.of(people));
+
+        for (PersonStats stats : Arrays.asList(parallel, table)) {
+            Assert.assertEquals(stats.getCount(), sequential.getCount());
+            Assert.assertEquals(stats.getSum(), sequential.getSum());
+            Assert.assertEquals(stats.getMin(), sequential.getMin());
+            Assert.assertEquals(stats.getMax(), sequential.getMax());
+            Assert.assertEquals(stats.getVariance(), sequential.getVariance(), 0.0001);
+            Assert.assertEquals(stats.getPercentile(90), sequential.getPercentile(90));
+        }
+        Assert.assertSame(parallel.getOldest(), sequential.getOldest(), "Combine should keep the first oldest");
+    }
+
+    @Test(groups = "regression")
+    public void testEmpty() {
+        PersonStats stats = PersonStats.of(new ArrayList<>());
+
+        Assert.assertEquals(stats.getCount(), 0);
+        Assert.assertEquals(stats.getMean(), 0.0);
+        Assert.assertEquals(stats.getMedian(), 0);
+        Assert.assertNull(stats.getOldest());
+    }
+
+    @Test(groups = "regression")
+    public void testSmallAndLargeGroupsCombine() {
+        Random random = new Random(9);
+        for (int[] sizes : new int[][]{{3, 5}, {10, 10}, {3, 40}, {40, 3}, {40, 40}, {0, 20}}) {
+            PersonStats left = new PersonStats();
+            PersonStats right = new PersonStats();
+            PersonStats all = new PersonStats();
+            for (int i = 0; i < sizes[0]; i++) {
+                int age = random.nextInt(300) - 20; // Ages outside the tracked range too
+                left.accept(age);
+                all.accept(age);
+            }
+            for (int i = 0; i < sizes[1]; i++) {
+                int age = random.nextInt(300) - 20;
+                right.accept(age);
+                all.accept(age);
+            }
+
+            left.combine(right);
+
+            Assert.assertEquals(left.getHistogram(), all.getHistogram(), Arrays.toString(sizes));
+            Assert.assertEquals(left.getMedian(), all.getMedian());
+            Assert.assertEquals(left.getPercentile(90), all.getPercentile(90));
+        }
+    }
+
+    private static double naiveVariance(List<Person> people) {
+        double mean = people.stream().mapToInt(Person::getAge).average().orElse(0);
+        return people.stream().mapToDouble(p -> (p.getAge() - mean) * (p.getAge() - mean)).sum() / people.size();
+    }
+}
@@ -0,0 +1,97 @@
+package lesson02;
+
+import com.lesson02.models.Person;
+import com.lesson02.models.PersonTable;
+import com.lesson02.utils.CSVReader;
+import com.lesson02.utils.EmailColumnValidator;
+import com.lesson02.utils.PersonSources;
+import com.week01.EmailBatchValidator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for the columnar PersonTable.
+ */
+public class PersonTableTest {
+
+    private static final String PEOPLE_CSV = "src/test/resources/lesson02/people.csv";
+
+    @Test(groups = "regression")
+    public void testTableMatchesList() throws IOException {
+        List<Person> expected = CSVReader.readPersonsFromCSV(PEOPLE_CSV);
+
+        PersonTable fromCSV = CSVReader.readTableFromCSV(PEOPLE_CSV);
+        PersonTable fromYAML = PersonSources.readTable("src/test/resources/lesson02/people.yaml");
+
+        Assert.assertEquals(fromCSV.stream().collect(Collectors.toList()), expected);
+        Assert.assertEquals(fromYAML.stream().collect(Collectors.toList()), expected);
+    }
+
+    @Test(groups = "regression")
+    public void testAgeScans() throws IOException {
+        PersonTable table = CSVReader.readTableFromCSV(PEOPLE_CSV);
+
+        Assert.assertEquals(table.sumAges(), 77 + 82 + 80 + 32);
+        Assert.assertEquals(table.averageAge(), (77 + 82 + 80 + 32) / 4.0, 0.0001);
+        Assert.assertEquals(table.minAge(), 32);
+        Assert.assertEquals(table.maxAge(), 82);
+        Assert.assertEquals(table.countOlderThan(30), 4);
+        Assert.assertEquals(table.indexesWhereAge(age -> age >= 80), new int[]{1, 2});
+    }
+
+    @Test(groups = "regression")
+    public void testFilterAndRowView() {
+        PersonTable table = PersonTable.of(Arrays.asList(
+                new Person("Jürgen", 41, "jurgen@example.de"),
+                new Person("Anna", 19, "anna@example.com"),
+                new Person("Li", 65, "li@example.cn")));
+
+        PersonTable older = table.filterByAge(age -> age > 40);
+        PersonTable.Row row = older.row(0);
+
+        Assert.assertEquals(older.size(), 2);
+        Assert.assertEquals(row.getName(), "Jürgen");
+        Assert.assertEquals(row.moveTo(1).getEmail(), "li@example.cn");
+        Assert.assertEquals(row.toPerson(), new Person("Li", 65, "li@example.cn"));
+    }
+
+    @Test(groups = "regression")
+    public void testNullsRoundTrip() {
+        List<Person> people = Arrays.asList(
+                new Person(null, 1, null),
+                new Person("", 2, ""),
+                new Person("Anna", 3, null),
+                new Person(null, 4, "li@example.cn"));
+
+        PersonTable table = PersonTable.of(people);
+        PersonTable selected = table.select(new int[]{3, 0, 1});
+
+        Assert.assertEquals(table.stream().collect(Collectors.toList()), people);
+        Assert.assertNull(table.getName(0));
+        Assert.assertEquals(table.getName(1), "", "Empty name should stay empty, not null");
+        Assert.assertNull(table.row(2).getEmail());
+        Assert.assertEquals(table.row(3).toPerson(), new Person(null, 4, "li@example.cn"));
+        Assert.assertEquals(selected.stream().collect(Collectors.toList()),
+                Arrays.asList(people.get(3), people.get(0), people.get(1)));
+    }
+
+    @Test(groups = "regression")
+    public void testValidateEmails() {
+        List<String> emails = Arrays.asList("john@example.com", "broken", null, "ünïcode@example.com", "a.b@mail.co");
+        PersonTable.Builder builder = PersonTable.builder();
+        for (String email : emails) {
+            builder.add("Name", 30, email);
+        }
+
+        EmailBatchValidator.Result result = EmailColumnValidator.validate(builder.build());
+
+        Assert.assertEquals(result.getValid(), EmailBatchValidator.validate(
+                emails.stream().map(email -> email == null ? "" : email)).getValid());
+        Assert.assertEquals(result.getValidCount(), 2);
+    }
+}
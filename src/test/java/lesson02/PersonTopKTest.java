@@ -0,0 +1,55 @@
+package lesson02;
+
+import com.lesson02.PersonSorter;
+import com.lesson02.PersonTopK;
+import com.lesson02.SortOrder;
+import com.lesson02.models.Person;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Tests that bounded-heap top-K gives the same people as sorting and slicing.
+ */
+public class PersonTopKTest {
+
+    private static final List<Person> PEOPLE = TestDataLesson2.randomPeople(50_000, 0, 89);
+
+    @Test(groups = "regression")
+    public void testOldestMatchesSortedSlice() {
+        List<Person> expected = PersonSorter.sortByAge(PEOPLE, SortOrder.DESC).subList(0, 100);
+
+        TestDataLesson2.assertSameObjects(PersonTopK.oldest(PEOPLE.stream(), 100), expected);
+        TestDataLesson2.assertSameObjects(PersonTopK.oldest(PEOPLE.parallelStream(), 100), expected);
+    }
+
+    @Test(groups = "regression")
+    public void testYoungestMatchesSortedSlice() {
+        List<Person> expected = PersonSorter.sortByAge(PEOPLE, SortOrder.ASC).subList(0, 100);
+
+        TestDataLesson2.assertSameObjects(PersonTopK.youngest(PEOPLE.stream(), 100), expected);
+        TestDataLesson2.assertSameObjects(PersonTopK.youngest(PEOPLE.parallelStream(), 100), expected);
+    }
+
+    @Test(groups = "regression")
+    public void testMergeOfSplitInputs() {
+        PersonTopK left = PersonTopK.oldest(10);
+        PersonTopK right = PersonTopK.oldest(10);
+        PEOPLE.subList(0, 20_000).forEach(left);
+        PEOPLE.subList(20_000, PEOPLE.size()).forEach(right);
+
+        List<Person> expected = PersonSorter.sortByAge(PEOPLE, SortOrder.DESC).subList(0, 10);
+
+        TestDataLesson2.assertSameObjects(left.combine(right).result(), expected);
+        Assert.assertEquals(left.getSeen(), PEOPLE.size());
+    }
+
+    @Test(groups = "regression")
+    public void testFewerPeopleThanK() {
+        List<Person> few = PEOPLE.subList(0, 3);
+
+        Assert.assertEquals(PersonTopK.oldest(few.stream(), 10), PersonSorter.sortByAge(few, SortOrder.DESC));
+        Assert.assertTrue(PersonTopK.oldest(few.stream(), 0).isEmpty());
+    }
+}
@@ -0,0 +1,51 @@
+package lesson02;
+
+import com.lesson02.models.Person;
+import org.testng.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generated people and shared assertions for the lesson02 collection tests.
+ */
+public class TestDataLesson2 {
+
+    private static final long SEED = 42;
+    private static final String[] DOMAINS = {"example.com", "Example.org", "mail.net", "test.io"};
+
+    /**
+     * @return people with random ages in minAge..maxAge (same for every call) and unique names and emails
+     */
+    public static List<Person> randomPeople(int size, int minAge, int maxAge) {
+        Random random = new Random(SEED);
+        List<Person> people = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int age = minAge + random.nextInt(maxAge - minAge + 1);
+            people.add(new Person("Person " + i, age, "person" + i + "@example.com"));
+        }
+        return people;
+    }
+
+    /**
+     * @return people with ages 0..100 and emails spread over a few domains, one in mixed case
+     */
+    public static List<Person> peopleWithDomains(int size) {
+        List<Person> people = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            people.add(new Person("Person " + i, (i * 37) % 101, "person" + i + "@" + DOMAINS[i % DOMAINS.length]));
+        }
+        return people;
+    }
+
+    /**
+     * Checks that both lists hold the same objects in the same order, not just equal ones.
+     */
+    public static void assertSameObjects(List<Person> actual, List<Person> expected) {
+        Assert.assertEquals(actual.size(), expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertSame(actual.get(i), expected.get(i), "Different person at position " + i);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package lesson02;
+
+import com.lesson02.models.Person;
+import com.lesson02.utils.YAMLReader;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the YAMLReader Map-based and event-driven modes.
+ */
+public class YAMLReaderTest {
+
+    private static final String PEOPLE_YAML = "src/test/resources/lesson02/people.yaml";
+
+    @Test(groups = "regression")
+    public void testStreamMatchesMapReader() throws IOException {
+        List<Person> expected = YAMLReader.readPersonsFromYAML(PEOPLE_YAML);
+
+        Assert.assertEquals(readAll(PEOPLE_YAML), expected, "Event-driven mode should return the same people");
+    }
+
+    @Test(groups = "regression")
+    public void testStreamMultiDocument() throws IOException {
+        Path file = Files.createTempFile("people", ".yaml");
+        file.toFile().deleteOnExit();
+        Files.write(file, ("people:\n"
+                + "  - name: Robert Plant\n"
+                + "    age: 77\n"
+                + "    email: robert.plant@example.com\n"
+                + "---\n"
+                + "band: Led Zeppelin\n"
+                + "---\n"
+                + "meta:\n"
+                + "  people: []\n"
+                + "people:\n"
+                + "  - name: Jimmy Page\n"
+                + "    nickname: Pagey\n"
+                + "    age: 82\n"
+                + "    email: jimmy.page@example.com\n").getBytes(StandardCharsets.UTF_8));
+
+        List<Person> people = readAll(file.toString());
+
+        Assert.assertEquals(people.size(), 2, "People from both documents should be returned");
+        Assert.assertEquals(people.get(0), new Person("Robert Plant", 77, "robert.plant@example.com"));
+        Assert.assertEquals(people.get(1), new Person("Jimmy Page", 82, "jimmy.page@example.com"));
+    }
+
+    @Test(groups = "regression")
+    public void testStreamRejectsBadAge() throws IOException {
+        Path file = writeYaml("people:\n"
+                + "  - name: Robert Plant\n"
+                + "    age: 77\n"
+                + "  - name: Jimmy Page\n"
+                + "    age: old\n");
+
+        try (Stream<Person> stream = YAMLReader.streamPersonsFromYAML(file.toString())) {
+            stream.forEach(person -> { });
+            Assert.fail("A non-numeric age should fail");
+        } catch (UncheckedIOException e) {
+            Assert.assertTrue(e.getMessage().contains(file.toString()), "Message should name the file: " + e.getMessage());
+            Assert.assertTrue(e.getMessage().contains("line 5"), "Message should name the line: " + e.getMessage());
+        }
+    }
+
+    @Test(groups = "regression", expectedExceptions = UncheckedIOException.class,
+            expectedExceptionsMessageRegExp = ".*person has no age")
+    public void testStreamRejectsMissingAge() throws IOException {
+        Path file = writeYaml("people:\n"
+                + "  - name: Jimmy Page\n"
+                + "    email: jimmy.page@example.com\n");
+
+        readAll(file.toString());
+    }
+
+    private static Path writeYaml(String content) throws IOException {
+        Path file = Files.createTempFile("people", ".yaml");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<Person> readAll(String filePath) throws IOException {
+        try (Stream<Person> stream = YAMLReader.streamPersonsFromYAML(filePath)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+}